@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.benchmark;
+
+import com.unary.movableactionbutton.core.DodgeMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per frame cost of the Snackbar dependency handling in the slide and shrink
+ * behaviors. Each invocation runs a full slide in animation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DodgeBenchmark {
+
+    private static final int FRAMES = 16;
+    private static final int SNACKBAR_HEIGHT = 144;
+    private static final int SNACKBAR_MARGIN = 16;
+    private static final float FAB_LEFT = 864;
+    private static final float FAB_TOP = 1704;
+    private static final float FAB_SIZE = 168;
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public float slide() {
+        float sum = 0;
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            float translation = snackbarTranslation(frame);
+
+            if (intersects(translation)) {
+                sum += DodgeMath.slideTranslation(0, translation, SNACKBAR_HEIGHT, SNACKBAR_MARGIN);
+            }
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public float shrink() {
+        float sum = 0;
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            float translation = snackbarTranslation(frame);
+
+            if (intersects(translation)) {
+                sum += DodgeMath.shrinkScale(1, translation, SNACKBAR_HEIGHT, SNACKBAR_MARGIN);
+            }
+        }
+
+        return sum;
+    }
+
+    private static boolean intersects(float snackbarTranslation) {
+        float top = 1920 - SNACKBAR_MARGIN - SNACKBAR_HEIGHT + snackbarTranslation;
+
+        return DodgeMath.intersects(FAB_LEFT, FAB_TOP, FAB_LEFT + FAB_SIZE, FAB_TOP + FAB_SIZE,
+                0, top, 1080, top + SNACKBAR_HEIGHT);
+    }
+
+    private static float snackbarTranslation(int frame) {
+        return (SNACKBAR_HEIGHT + SNACKBAR_MARGIN) * (1 - (float) frame / (FRAMES - 1));
+    }
+}
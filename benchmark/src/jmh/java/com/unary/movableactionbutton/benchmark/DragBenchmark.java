@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.benchmark;
+
+import com.unary.movableactionbutton.core.MovementBounds;
+import com.unary.movableactionbutton.core.SnapIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per event cost of the drag path: touch slop check, clamping to the cached bounds
+ * and optional snapping while moving. Each invocation replays a full drag.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DragBenchmark {
+
+    private static final int EVENTS = 1024;
+    private static final int TOUCH_SLOP = 24;
+
+    @Param({"0", "1", "3"})
+    public int snapMode;
+
+    private final MovementBounds mBounds = new MovementBounds();
+    private final SnapIndex mSnapIndex = new SnapIndex();
+    private final float[] mSnapPoint = new float[2];
+    private final float[] mRawX = new float[EVENTS];
+    private final float[] mRawY = new float[EVENTS];
+
+    @Setup
+    public void setup() {
+        mBounds.set(1080, 1920, 48, 48, 48, 48, 168, 168);
+        mSnapIndex.build(snapMode, mBounds.getMinX(), mBounds.getMinY(), mBounds.getMaxX(), mBounds.getMaxY(), 144);
+
+        // Jittery walk across and past the parent
+        Random random = new Random(42);
+        float x = 540;
+        float y = 960;
+
+        for (int i = 0; i < EVENTS; i++) {
+            x += random.nextFloat() * 40 - 18;
+            y += random.nextFloat() * 40 - 22;
+            mRawX[i] = x;
+            mRawY[i] = y;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public float drag() {
+        float startX = mRawX[0];
+        float startY = mRawY[0];
+        float dx = 800 - startX;
+        float dy = 1600 - startY;
+        boolean moving = false;
+        float sum = 0;
+
+        for (int i = 1; i < EVENTS; i++) {
+            float x = mRawX[i];
+            float y = mRawY[i];
+
+            if (moving || Math.abs(startX - x) > TOUCH_SLOP || Math.abs(startY - y) > TOUCH_SLOP) {
+                float boundX = mBounds.clampX(dx + x);
+                float boundY = mBounds.clampY(dy + y);
+
+                if (snapMode != SnapIndex.MODE_NONE) {
+                    mSnapIndex.snap(boundX, boundY, mSnapPoint);
+
+                    boundX = mSnapPoint[0];
+                    boundY = mSnapPoint[1];
+                }
+
+                sum += boundX + boundY;
+                moving = true;
+            }
+        }
+
+        return sum;
+    }
+}
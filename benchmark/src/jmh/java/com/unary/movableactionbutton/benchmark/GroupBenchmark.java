@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.benchmark;
+
+import com.unary.movableactionbutton.core.SpatialGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one dragged button moving among a growing number of grouped buttons, finding its
+ * neighbours through the spatial grid or by checking every other button.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GroupBenchmark {
+
+    private static final int MOVES = 1024;
+    private static final float SIZE = 56;
+
+    @Param({"5", "20", "100"})
+    public int buttons;
+
+    private SpatialGrid mGrid;
+    private float[] mLeft;
+    private float[] mTop;
+    private int[] mNeighbors;
+
+    @Setup
+    public void setup() {
+        mGrid = new SpatialGrid(64);
+        mLeft = new float[buttons];
+        mTop = new float[buttons];
+        mNeighbors = new int[buttons];
+
+        // Spread over a phone sized parent
+        for (int i = 0; i < buttons; i++) {
+            mLeft[i] = i * 211 % 1024;
+            mTop[i] = i * 389 % 1864;
+            mGrid.put(i, mLeft[i], mTop[i], mLeft[i] + SIZE, mTop[i] + SIZE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public int grid() {
+        int sum = 0;
+
+        for (int i = 0; i < MOVES; i++) {
+            float x = i * 1.37f % 1024;
+            float y = i * 2.11f % 1864;
+
+            mGrid.put(0, x, y, x + SIZE, y + SIZE);
+            sum += mGrid.query(x, y, x + SIZE, y + SIZE, mNeighbors);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public int pairwise() {
+        int sum = 0;
+
+        for (int i = 0; i < MOVES; i++) {
+            float x = i * 1.37f % 1024;
+            float y = i * 2.11f % 1864;
+
+            mLeft[0] = x;
+            mTop[0] = y;
+
+            for (int j = 0; j < buttons; j++) {
+                if (x < mLeft[j] + SIZE && mLeft[j] < x + SIZE && y < mTop[j] + SIZE && mTop[j] < y + SIZE) {
+                    sum++;
+                }
+            }
+        }
+
+        return sum;
+    }
+}
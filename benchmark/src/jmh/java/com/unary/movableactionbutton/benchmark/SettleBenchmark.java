@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.benchmark;
+
+import com.unary.movableactionbutton.core.MovementBounds;
+import com.unary.movableactionbutton.core.SettlePhysics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete fling and snap spring, stepped at 60Hz until the view comes to rest.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SettleBenchmark {
+
+    private static final float FRAME_TIME = 1 / 60f;
+
+    private final MovementBounds mBounds = new MovementBounds();
+    private SettlePhysics mPhysics;
+
+    @Setup
+    public void setup() {
+        mBounds.set(1080, 1920, 48, 48, 48, 48, 168, 168);
+        mPhysics = new SettlePhysics(mBounds);
+    }
+
+    @Benchmark
+    public int fling() {
+        mPhysics.fling(400, 800, 3000, -2000);
+
+        return run();
+    }
+
+    @Benchmark
+    public int spring() {
+        mPhysics.settleTo(400, 800, 864, 1704, 1500, 500);
+
+        return run();
+    }
+
+    private int run() {
+        int frames = 1;
+
+        while (mPhysics.step(FRAME_TIME)) {
+            frames++;
+        }
+
+        return frames;
+    }
+}
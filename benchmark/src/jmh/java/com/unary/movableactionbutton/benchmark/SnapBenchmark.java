@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.benchmark;
+
+import com.unary.movableactionbutton.core.SnapIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures nearest target lookups and index rebuilds for grids of increasing density.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"4", "16", "144"})
+    public float gridSize;
+
+    private final SnapIndex mSnapIndex = new SnapIndex();
+    private final float[] mSnapPoint = new float[2];
+
+    @Setup
+    public void setup() {
+        mSnapIndex.build(SnapIndex.MODE_GRID, 0, 0, 1080, 1920, gridSize);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public float nearest() {
+        float sum = 0;
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            mSnapIndex.snap(i * 1.37f % 1080, i * 2.11f % 1920, mSnapPoint);
+            sum += mSnapPoint[0] + mSnapPoint[1];
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public SnapIndex rebuild() {
+        mSnapIndex.build(SnapIndex.MODE_GRID, 0, 0, 1080, 1920, gridSize);
+
+        return mSnapIndex;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+/**
+ * The behaviors a movable widget can pick with its behaviorType attribute. The behavior is only
+ * created when a CoordinatorLayout first asks the widget for it, from settings that were read
+ * along with the other widget attributes.
+ */
+public final class BehaviorType {
+
+    /**
+     * Slide out of the way of a Snackbar. This is the default.
+     */
+    public static final int SLIDE = 0;
+
+    /**
+     * Shrink out of the way of a Snackbar.
+     */
+    public static final int SHRINK = 1;
+
+    /**
+     * Dodge Snackbars, a BottomAppBar, bottom sheets and other movable buttons.
+     */
+    public static final int DODGE = 2;
+
+    /**
+     * Hide while the content scrolls.
+     */
+    public static final int SCROLL_HIDE = 3;
+
+    /**
+     * No behavior.
+     */
+    public static final int NONE = 4;
+
+    /**
+     * A behavior of the application's own, set with app:layout_behavior or on the layout
+     * parameters. The widget itself does not provide one.
+     */
+    public static final int CUSTOM = 5;
+
+    private BehaviorType() {
+    }
+
+    /**
+     * Create the behavior of the given type.
+     *
+     * @param type        Behavior type.
+     * @param layerPolicy Layer policy of the behavior.
+     * @param dodgeMode   Dodge mode, used by {@link #DODGE}.
+     * @param hideMode    Hide mode, used by {@link #SCROLL_HIDE}.
+     * @param <V>         View type parameter.
+     * @return New behavior.
+     */
+    @NonNull
+    static <V extends View> CoordinatorLayout.Behavior<V> create(int type, int layerPolicy, int dodgeMode,
+                                                                int hideMode) {
+        switch (type) {
+            case SHRINK:
+                ShrinkBehavior<V> shrinkBehavior = new ShrinkBehavior<>();
+                shrinkBehavior.getLayerPolicy().setPolicy(layerPolicy);
+                return shrinkBehavior;
+            case DODGE:
+                DodgeBehavior<V> dodgeBehavior = new DodgeBehavior<>();
+                dodgeBehavior.getLayerPolicy().setPolicy(layerPolicy);
+                dodgeBehavior.setDodgeMode(dodgeMode);
+                return dodgeBehavior;
+            case SCROLL_HIDE:
+                ScrollHideBehavior<V> scrollHideBehavior = new ScrollHideBehavior<>();
+                scrollHideBehavior.getLayerPolicy().setPolicy(layerPolicy);
+                scrollHideBehavior.setHideMode(hideMode);
+                return scrollHideBehavior;
+            case NONE:
+            case CUSTOM:
+                // CoordinatorLayout expects a behavior from an attached one
+                return new CoordinatorLayout.Behavior<V>() {
+                };
+            default:
+                SlideBehavior<V> slideBehavior = new SlideBehavior<>();
+                slideBehavior.getLayerPolicy().setPolicy(layerPolicy);
+                return slideBehavior;
+        }
+    }
+}
\ No newline at end of file
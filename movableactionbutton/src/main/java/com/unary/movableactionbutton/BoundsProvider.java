@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.unary.movableactionbutton.core.MovementConstraints;
+
+import java.util.ArrayList;
+
+/**
+ * Supplies the region a movable view is allowed in, and the regions it has to stay out of, such
+ * as a video surface, a map attribution corner or a toolbar overlay. All rectangles are in the
+ * coordinates of the parent and apply to the view itself, not its margins.
+ *
+ * <p>The constraints are only asked for once and cached by every view using the provider. Call
+ * {@link #notifyChanged()} when they change, and each view rebuilds its constraints and moves
+ * clear of them before the next frame.</p>
+ *
+ * <p>Views are only notified while attached to a window, and rebuild their constraints when
+ * attached again. A provider that outlives a layout therefore does not keep its views.</p>
+ */
+public abstract class BoundsProvider {
+
+    private final ArrayList<MovableTouchHelper> mHelpers = new ArrayList<>();
+
+    /**
+     * Called to build the constraints of a view. Set the allowed rectangle, if any, and add every
+     * exclusion rectangle.
+     *
+     * @param view        Moving view.
+     * @param constraints Empty constraints to fill in.
+     */
+    public abstract void onBuildConstraints(@NonNull View view, @NonNull MovementConstraints constraints);
+
+    /**
+     * Tell every view using this provider that its constraints have changed.
+     */
+    public final void notifyChanged() {
+        for (int i = 0; i < mHelpers.size(); i++) {
+            mHelpers.get(i).invalidateConstraints();
+        }
+    }
+
+    /**
+     * Start notifying the given helper of changes.
+     *
+     * @param helper Touch helper of the view.
+     */
+    void register(@NonNull MovableTouchHelper helper) {
+        if (!mHelpers.contains(helper)) {
+            mHelpers.add(helper);
+        }
+    }
+
+    /**
+     * Stop notifying the given helper of changes.
+     *
+     * @param helper Touch helper of the view.
+     */
+    void unregister(@NonNull MovableTouchHelper helper) {
+        mHelpers.remove(helper);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import com.unary.movableactionbutton.core.FrameClock;
+
+/**
+ * The display frame clock shared by every button and behavior on the main thread. However many
+ * animations are running, only one Choreographer callback is posted per frame.
+ */
+final class ChoreographerFrameClock extends FrameClock implements Choreographer.FrameCallback {
+
+    private static ChoreographerFrameClock sInstance;
+
+    private ChoreographerFrameClock() {
+        super();
+    }
+
+    /**
+     * Get the shared clock. This must be called on the main thread.
+     *
+     * @return Shared frame clock.
+     */
+    @NonNull
+    static ChoreographerFrameClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new ChoreographerFrameClock();
+        }
+
+        return sInstance;
+    }
+
+    @Override
+    protected void requestFrame() {
+        Choreographer choreographer = Choreographer.getInstance();
+
+        // Never posted twice
+        choreographer.removeFrameCallback(this);
+        choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        dispatchFrame(frameTimeNanos);
+    }
+}
\ No newline at end of file
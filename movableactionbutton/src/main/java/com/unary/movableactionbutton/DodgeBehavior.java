@@ -0,0 +1,360 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import com.google.android.material.bottomappbar.BottomAppBar;
+import com.google.android.material.bottomsheet.BottomSheetBehavior;
+import com.google.android.material.snackbar.Snackbar;
+import com.unary.movableactionbutton.core.DodgeMath;
+
+import java.util.ArrayList;
+
+/**
+ * A behavior used by CoordinatorLayout to move an obstructing view out of the way of anything
+ * rising from the bottom of the parent: Snackbars, a BottomAppBar, bottom sheets and other movable
+ * buttons placed before it. The view can slide, shrink or do both.
+ *
+ * <p>All dependencies are combined into a single translation and scale, which is only written to
+ * the view when it changes. The class based type of each dependency is only worked out once and
+ * kept in a view tag.</p>
+ *
+ * <p><strong>XML attributes</strong></p>
+ * <pre>
+ *   app:dodgeMode="flags" // Any of "slide" and "shrink". Default is "slide"
+ * </pre>
+ *
+ * @param <V> View type parameter.
+ */
+public class DodgeBehavior<V extends View> extends CoordinatorLayout.Behavior<V> {
+
+    /**
+     * Slide the view up and out of the way.
+     */
+    public static final int MODE_SLIDE = 1;
+
+    /**
+     * Shrink the view out of the way. Combined with sliding the view only shrinks to half its size.
+     */
+    public static final int MODE_SHRINK = 2;
+
+    private static final int DODGE_MODE = MODE_SLIDE;
+    private static final float MIN_SCALE = 0.5f;
+
+    private static final int TYPE_NONE = 0;
+    private static final int TYPE_SNACKBAR = 1;
+    private static final int TYPE_BOTTOM_APP_BAR = 2;
+    private static final int TYPE_BOTTOM_SHEET = 3;
+    private static final int TYPE_MOVABLE = 4;
+
+    private int mDodgeMode;
+    private final ArrayList<View> mDependencies = new ArrayList<>();
+    private boolean mAnimate;
+    private final LayerPolicy mLayerPolicy;
+    private float mTranslationY;
+    private float mScaleX;
+    private float mScaleY;
+    private float mSlide;
+    private int mPointerId;
+    private float mOffsetX;
+    private float mOffsetY;
+
+    /**
+     * Simple constructor to use when creating the behavior from code.
+     */
+    public DodgeBehavior() {
+        super();
+        mLayerPolicy = new LayerPolicy();
+        mDodgeMode = DODGE_MODE;
+    }
+
+    /**
+     * Constructor that is called when inflating the behavior from XML.
+     *
+     * @param context Context given for the behavior. This determines the resources and theme.
+     * @param attrs   The attributes for the inflated XML tag.
+     */
+    public DodgeBehavior(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        mLayerPolicy = new LayerPolicy(context, attrs);
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.DodgeBehavior);
+
+        try {
+            mDodgeMode = typedArray.getInt(R.styleable.DodgeBehavior_dodgeMode, DODGE_MODE);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    @Nullable
+    @Override
+    public Parcelable onSaveInstanceState(@NonNull CoordinatorLayout parent, @NonNull V child) {
+        if (mAnimate) {
+            restore(child);
+        }
+
+        return super.onSaveInstanceState(parent, child);
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+            case MotionEvent.ACTION_POINTER_DOWN:
+                actionDown(parent, child, event);
+                break;
+            case MotionEvent.ACTION_MOVE:
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_POINTER_UP:
+                actionUp(parent, child, event);
+                break;
+        }
+
+        return false;
+    }
+
+    /**
+     * Determine if the child might be associated with the event and save that for later.
+     *
+     * @param parent Parent receiving the event.
+     * @param child  Child view for this behavior.
+     * @param event  MotionEvent object.
+     */
+    private void actionDown(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull MotionEvent event) {
+        int pointerIndex = event.getActionIndex();
+        mPointerId = MotionEvent.INVALID_POINTER_ID;
+
+        // Could be multiple events
+        if (parent.isPointInChildBounds(child, (int) event.getX(pointerIndex), (int) event.getY(pointerIndex))) {
+            mPointerId = event.getPointerId(pointerIndex);
+
+            mOffsetX = child.getTranslationX();
+            mOffsetY = child.getTranslationY();
+        }
+    }
+
+    /**
+     * Keep the dodge going from wherever the user moved the child to.
+     *
+     * @param parent Parent receiving the event.
+     * @param child  Child view for this behavior.
+     * @param event  MotionEvent object.
+     */
+    private void actionUp(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull MotionEvent event) {
+        boolean touched = (mPointerId == event.getPointerId(event.getActionIndex()));
+
+        // Rebase under the current slide
+        if (mAnimate && touched && (mOffsetX != child.getTranslationX() || mOffsetY != child.getTranslationY())) {
+            mTranslationY = child.getTranslationY() + mSlide;
+            mOffsetX = child.getTranslationX();
+            mOffsetY = child.getTranslationY();
+        }
+    }
+
+    @Override
+    public boolean layoutDependsOn(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View dependency) {
+        int type = getType(dependency);
+
+        // Only earlier buttons, so two buttons never depend on each other
+        if (type == TYPE_NONE || (type == TYPE_MOVABLE && parent.indexOfChild(dependency) > parent.indexOfChild(child))) {
+            // Its behavior might have changed
+            mDependencies.remove(dependency);
+
+            return false;
+        }
+
+        if (!mDependencies.contains(dependency)) {
+            mDependencies.add(dependency);
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean onDependentViewChanged(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View dependency) {
+        return update(parent, child);
+    }
+
+    @Override
+    public void onDependentViewRemoved(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View dependency) {
+        mDependencies.remove(dependency);
+
+        // Snackbar might get dismissed
+        update(parent, child);
+    }
+
+    /**
+     * Get the policy used to render the child while it is animated.
+     *
+     * @return Layer policy.
+     */
+    @NonNull
+    public LayerPolicy getLayerPolicy() {
+        return mLayerPolicy;
+    }
+
+    /**
+     * Get the dodge mode for this behavior.
+     *
+     * @return Any of {@link #MODE_SLIDE} and {@link #MODE_SHRINK}.
+     */
+    public int getDodgeMode() {
+        return mDodgeMode;
+    }
+
+    /**
+     * Set the dodge mode for this behavior.
+     *
+     * @param dodgeMode Any of {@link #MODE_SLIDE} and {@link #MODE_SHRINK}.
+     */
+    public void setDodgeMode(int dodgeMode) {
+        mDodgeMode = dodgeMode;
+    }
+
+    /**
+     * Combine every dependency into one translation and scale for the child. The child is measured
+     * where it would be without dodging, so the result does not depend on the previous frame. Later
+     * calls in the same dispatch pass find the child already up to date and leave it alone.
+     *
+     * @param parent Parent of the child.
+     * @param child  Child view for this behavior.
+     * @return True if the child was changed.
+     */
+    private boolean update(@NonNull CoordinatorLayout parent, @NonNull V child) {
+        float translationY = mAnimate ? mTranslationY : child.getTranslationY();
+        float left = child.getX();
+        float top = child.getTop() + translationY;
+        float right = left + child.getWidth();
+        float bottom = top + child.getHeight();
+        float rise = 0;
+
+        for (int i = 0; i < mDependencies.size(); i++) {
+            View dependency = mDependencies.get(i);
+
+            if (dependency.getParent() != parent || dependency.getVisibility() != View.VISIBLE) {
+                continue;
+            }
+
+            rise = Math.max(rise, DodgeMath.rise(left, top, right, bottom, dependency.getX(), dependency.getY(),
+                    dependency.getX() + dependency.getWidth()));
+        }
+
+        if (rise <= 0) {
+            if (mAnimate) {
+                restore(child);
+                mAnimate = false;
+                mLayerPolicy.end(child);
+
+                return true;
+            }
+
+            return false;
+        }
+
+        boolean started = false;
+
+        // Start from the undodged state
+        if (!mAnimate) {
+            mTranslationY = child.getTranslationY();
+            mScaleX = child.getScaleX();
+            mScaleY = child.getScaleY();
+            mAnimate = true;
+            mLayerPolicy.begin(child);
+            started = true;
+        }
+
+        float scale = 1;
+
+        if ((mDodgeMode & MODE_SHRINK) != 0) {
+            scale = DodgeMath.dodgeScale(rise, child.getHeight(), (mDodgeMode & MODE_SLIDE) != 0 ? MIN_SCALE : 0);
+        }
+
+        mSlide = (mDodgeMode & MODE_SLIDE) != 0 ? DodgeMath.dodgeSlide(rise, child.getHeight(), scale) : 0;
+
+        // Another dependency already moved it there
+        if (!started && child.getTranslationY() == mTranslationY - mSlide && child.getScaleX() == mScaleX * scale
+                && child.getScaleY() == mScaleY * scale) {
+            return false;
+        }
+
+        child.setTranslationY(mTranslationY - mSlide);
+        child.setScaleX(mScaleX * scale);
+        child.setScaleY(mScaleY * scale);
+
+        return true;
+    }
+
+    /**
+     * Put the child back to its undodged translation and scale.
+     *
+     * @param child Child view for this behavior.
+     */
+    private void restore(@NonNull V child) {
+        child.setTranslationY(mTranslationY);
+        child.setScaleX(mScaleX);
+        child.setScaleY(mScaleY);
+    }
+
+    /**
+     * Work out what kind of dependency a view is. Only the type given by the class of the view is
+     * kept in a view tag. A bottom sheet is known by the behavior in its layout parameters, which
+     * can be set or changed at any time, so that is checked again on every call.
+     *
+     * @param view View to check.
+     * @return Dependency type.
+     */
+    private static int getType(@NonNull View view) {
+        Object tag = view.getTag(R.id.movableactionbutton_dodge_type);
+        int type;
+
+        if (tag instanceof Integer) {
+            type = (Integer) tag;
+        } else {
+            type = TYPE_NONE;
+
+            if (view instanceof Snackbar.SnackbarLayout) {
+                type = TYPE_SNACKBAR;
+            } else if (view instanceof BottomAppBar) {
+                type = TYPE_BOTTOM_APP_BAR;
+            } else if (view instanceof MovableActionButton || view instanceof ExtendedMovableActionButton) {
+                type = TYPE_MOVABLE;
+            }
+
+            view.setTag(R.id.movableactionbutton_dodge_type, type);
+        }
+
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+
+        if (type == TYPE_NONE && lp instanceof CoordinatorLayout.LayoutParams
+                && ((CoordinatorLayout.LayoutParams) lp).getBehavior() instanceof BottomSheetBehavior) {
+            type = TYPE_BOTTOM_SHEET;
+        }
+
+        return type;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Counters collected over a single touch gesture, from ACTION_DOWN until the pointer is released.
+ * The same instance is reused for every gesture of a view, so a listener that needs to keep the
+ * values should copy them with {@link #set(DragMetrics)}.
+ */
+public final class DragMetrics {
+
+    private int mTouchEventCount;
+    private int mPositionUpdateCount;
+    private int mCoalescedCount;
+    private int mRejectedCount;
+    private long mTouchTimeNanos;
+    private long mDragDurationMillis;
+    private boolean mMoved;
+
+    /**
+     * Copy the counters of another snapshot into this one.
+     *
+     * @param metrics Snapshot to copy.
+     */
+    public void set(@NonNull DragMetrics metrics) {
+        mTouchEventCount = metrics.mTouchEventCount;
+        mPositionUpdateCount = metrics.mPositionUpdateCount;
+        mCoalescedCount = metrics.mCoalescedCount;
+        mRejectedCount = metrics.mRejectedCount;
+        mTouchTimeNanos = metrics.mTouchTimeNanos;
+        mDragDurationMillis = metrics.mDragDurationMillis;
+        mMoved = metrics.mMoved;
+    }
+
+    /**
+     * Clear all counters for a new gesture.
+     */
+    void reset() {
+        mTouchEventCount = 0;
+        mPositionUpdateCount = 0;
+        mCoalescedCount = 0;
+        mRejectedCount = 0;
+        mTouchTimeNanos = 0;
+        mDragDurationMillis = 0;
+        mMoved = false;
+    }
+
+    /**
+     * Count a touch event and the time spent handling it.
+     *
+     * @param nanos Handling time in nanoseconds.
+     */
+    void addTouchEvent(long nanos) {
+        mTouchEventCount++;
+        mTouchTimeNanos += nanos;
+    }
+
+    /**
+     * Count position updates written to the view.
+     *
+     * @param count Number of updates.
+     */
+    void addPositionUpdates(int count) {
+        mPositionUpdateCount += count;
+    }
+
+    /**
+     * Count touch samples replaced before they were applied.
+     *
+     * @param count Number of samples.
+     */
+    void addCoalesced(int count) {
+        mCoalescedCount += count;
+    }
+
+    /**
+     * Count an event blocked by the move listener.
+     */
+    void addRejected() {
+        mRejectedCount++;
+    }
+
+    /**
+     * Close the gesture with its duration and whether the view was moved.
+     *
+     * @param durationMillis Time from ACTION_DOWN to release in milliseconds.
+     * @param moved          True if the view was moved.
+     */
+    void finish(long durationMillis, boolean moved) {
+        mDragDurationMillis = durationMillis;
+        mMoved = moved;
+    }
+
+    /**
+     * Get the number of touch events received during the gesture, including ACTION_DOWN and the
+     * release.
+     *
+     * @return Touch event count.
+     */
+    public int getTouchEventCount() {
+        return mTouchEventCount;
+    }
+
+    /**
+     * Get the number of position updates applied to the view during the gesture.
+     *
+     * @return Position update count.
+     */
+    public int getPositionUpdateCount() {
+        return mPositionUpdateCount;
+    }
+
+    /**
+     * Get the number of touch samples that were replaced by a later sample in the same frame. This
+     * only counts while coalescing moves.
+     *
+     * @return Coalesced sample count.
+     */
+    public int getCoalescedCount() {
+        return mCoalescedCount;
+    }
+
+    /**
+     * Get the number of events blocked by the {@link OnMoveListener}.
+     *
+     * @return Rejected event count.
+     */
+    public int getRejectedCount() {
+        return mRejectedCount;
+    }
+
+    /**
+     * Get the total time spent handling the touch events of the gesture.
+     *
+     * @return Handling time in nanoseconds.
+     */
+    public long getTouchTimeNanos() {
+        return mTouchTimeNanos;
+    }
+
+    /**
+     * Get the time from ACTION_DOWN until the pointer was released.
+     *
+     * @return Gesture duration in milliseconds.
+     */
+    public long getDragDurationMillis() {
+        return mDragDurationMillis;
+    }
+
+    /**
+     * Check if the view was moved during the gesture. A gesture that did not move was a click.
+     *
+     * @return True if the view was moved.
+     */
+    public boolean isMoved() {
+        return mMoved;
+    }
+}
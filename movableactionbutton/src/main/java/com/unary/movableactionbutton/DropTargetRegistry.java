@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.unary.movableactionbutton.core.SpatialGrid;
+
+import java.util.Arrays;
+
+/**
+ * A set of drop target rectangles, such as a remove zone, that movable views can be dragged onto.
+ * The targets are kept in a {@link SpatialGrid}, so hit testing a moving view only checks the
+ * targets near it. Rectangles are in the coordinates of the parent of the views, and one registry
+ * can be shared by any number of views in that parent.
+ *
+ * <p>A view is over a target when its center is inside the target. Where targets overlap, the one
+ * with the nearest center wins.</p>
+ */
+public class DropTargetRegistry {
+
+    /**
+     * Id returned when the view is not over any target.
+     */
+    public static final int NO_TARGET = -1;
+
+    private static final float CELL_SIZE = 96f; // dp
+
+    private final SpatialGrid mGrid;
+    private boolean[] mUsed;
+    private int[] mHits;
+
+    /**
+     * Create an empty registry.
+     *
+     * @param context Context used for the display density.
+     */
+    public DropTargetRegistry(@NonNull Context context) {
+        mGrid = new SpatialGrid(CELL_SIZE * context.getResources().getDisplayMetrics().density);
+        mUsed = new boolean[0];
+        mHits = new int[0];
+    }
+
+    /**
+     * Add a target rectangle.
+     *
+     * @param left   Left edge.
+     * @param top    Top edge.
+     * @param right  Right edge.
+     * @param bottom Bottom edge.
+     * @return Id of the target, passed to the drop listener.
+     */
+    public int addTarget(float left, float top, float right, float bottom) {
+        int id = 0;
+
+        // Reuse a free id
+        while (id < mUsed.length && mUsed[id]) {
+            id++;
+        }
+
+        if (id == mUsed.length) {
+            mUsed = Arrays.copyOf(mUsed, id + 1);
+            mHits = new int[id + 1];
+        }
+
+        mUsed[id] = true;
+        mGrid.put(id, left, top, right, bottom);
+
+        return id;
+    }
+
+    /**
+     * Move a target to a new rectangle, for example after a layout change. Unknown ids are ignored.
+     *
+     * @param id     Id of the target.
+     * @param left   Left edge.
+     * @param top    Top edge.
+     * @param right  Right edge.
+     * @param bottom Bottom edge.
+     */
+    public void setTarget(int id, float left, float top, float right, float bottom) {
+        if (containsTarget(id)) {
+            mGrid.put(id, left, top, right, bottom);
+        }
+    }
+
+    /**
+     * Remove a target. A view over it gets an exit on its next move.
+     *
+     * @param id Id of the target.
+     */
+    public void removeTarget(int id) {
+        if (containsTarget(id)) {
+            mGrid.remove(id);
+            mUsed[id] = false;
+        }
+    }
+
+    /**
+     * Check if a target is in the registry.
+     *
+     * @param id Id of the target.
+     * @return True if present.
+     */
+    public boolean containsTarget(int id) {
+        return id >= 0 && id < mUsed.length && mUsed[id];
+    }
+
+    /**
+     * Get the number of targets in the registry.
+     *
+     * @return Target count.
+     */
+    public int getTargetCount() {
+        return mGrid.size();
+    }
+
+    /**
+     * Find the target under a point. This does not allocate.
+     *
+     * @param x The X Axis.
+     * @param y The Y Axis.
+     * @return Id of the target, or {@link #NO_TARGET}.
+     */
+    public int findTarget(float x, float y) {
+        int count = mGrid.query(x, y, x, y, mHits);
+        int target = NO_TARGET;
+        float nearest = Float.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            int id = mHits[i];
+            float dx = (mGrid.getLeft(id) + mGrid.getRight(id)) / 2 - x;
+            float dy = (mGrid.getTop(id) + mGrid.getBottom(id)) / 2 - y;
+            float distance = dx * dx + dy * dy;
+
+            if (distance < nearest || distance == nearest && id < target) {
+                target = id;
+                nearest = distance;
+            }
+        }
+
+        return target;
+    }
+}
\ No newline at end of file
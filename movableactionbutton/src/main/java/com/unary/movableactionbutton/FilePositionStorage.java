@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.graphics.PointF;
+
+import androidx.annotation.NonNull;
+import androidx.core.util.AtomicFile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A {@link PositionStorage} that keeps the positions in a small binary file. The file is replaced
+ * atomically, so a write that is interrupted leaves the previous positions intact.
+ */
+public class FilePositionStorage implements PositionStorage {
+
+    private static final int VERSION = 1;
+
+    private final AtomicFile mFile;
+
+    /**
+     * Create a storage backed by the given file.
+     *
+     * @param file File holding the positions.
+     */
+    public FilePositionStorage(@NonNull File file) {
+        mFile = new AtomicFile(file);
+    }
+
+    @Override
+    public void read(@NonNull Map<String, PointF> positions) throws IOException {
+        DataInputStream input;
+
+        try {
+            input = new DataInputStream(new BufferedInputStream(mFile.openRead()));
+        } catch (FileNotFoundException e) {
+            // Nothing stored yet
+            return;
+        }
+
+        try {
+            if (input.readInt() != VERSION) {
+                return;
+            }
+
+            int count = input.readInt();
+
+            for (int i = 0; i < count; i++) {
+                String key = input.readUTF();
+                positions.put(key, new PointF(input.readFloat(), input.readFloat()));
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    @Override
+    public void write(@NonNull Map<String, PointF> positions) throws IOException {
+        FileOutputStream stream = mFile.startWrite();
+
+        try {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+
+            output.writeInt(VERSION);
+            output.writeInt(positions.size());
+
+            for (Map.Entry<String, PointF> entry : positions.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeFloat(entry.getValue().x);
+                output.writeFloat(entry.getValue().y);
+            }
+
+            output.flush();
+            mFile.finishWrite(stream);
+        } catch (IOException e) {
+            mFile.failWrite(stream);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.unary.movableactionbutton.core.FrameClock;
+
+/**
+ * Applies at most one position update per display frame. Touch samples that arrive before the
+ * next frame replace the pending position and are counted as coalesced.
+ */
+final class FrameMover implements FrameClock.FrameListener {
+
+    private final View mView;
+    private FrameClock mFrameClock;
+    private float mX;
+    private float mY;
+    private boolean mPending;
+    private int mCoalescedCount;
+    private int mAppliedCount;
+
+    /**
+     * Create a frame synced mover for the given view.
+     *
+     * @param view       View to be moved.
+     * @param frameClock Clock that applies the moves.
+     */
+    FrameMover(@NonNull View view, @NonNull FrameClock frameClock) {
+        mView = view;
+        mFrameClock = frameClock;
+    }
+
+    /**
+     * Request the view be moved to the given coordinates on the next frame.
+     *
+     * @param x The X Axis.
+     * @param y The Y Axis.
+     */
+    void moveTo(float x, float y) {
+        mX = x;
+        mY = y;
+
+        if (mPending) {
+            mCoalescedCount++;
+        } else {
+            mPending = true;
+            mFrameClock.add(this);
+        }
+    }
+
+    /**
+     * Apply any pending position immediately instead of waiting for the next frame.
+     */
+    void flush() {
+        if (mPending) {
+            apply();
+        }
+    }
+
+    /**
+     * Drop any pending position without applying it.
+     */
+    void cancel() {
+        if (mPending) {
+            mFrameClock.remove(this);
+            mPending = false;
+        }
+    }
+
+    /**
+     * Set the clock that applies the moves. Any pending position is applied first.
+     *
+     * @param frameClock Frame clock.
+     */
+    void setFrameClock(@NonNull FrameClock frameClock) {
+        flush();
+        mFrameClock = frameClock;
+    }
+
+    /**
+     * Get the total number of touch samples that were replaced before they could be applied.
+     *
+     * @return Coalesced sample count.
+     */
+    int getCoalescedCount() {
+        return mCoalescedCount;
+    }
+
+    /**
+     * Get the total number of positions that were written to the view.
+     *
+     * @return Applied position count.
+     */
+    int getAppliedCount() {
+        return mAppliedCount;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        apply();
+    }
+
+    /**
+     * Write the pending position straight to the view translation.
+     */
+    private void apply() {
+        mFrameClock.remove(this);
+        mPending = false;
+        mAppliedCount++;
+
+        mView.setTranslationX(mX - mView.getLeft());
+        mView.setTranslationY(mY - mView.getTop());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Decides how a view is rendered while a behavior animates it frame by frame. With a hardware
+ * layer the view, including its shadow and ripple, is rendered once when the animation starts and
+ * only composited with a new translation or scale on the following frames. The layer is dropped
+ * again when the animation ends.
+ *
+ * <p>A layer costs an offscreen buffer the size of the view, so behaviors leave the layer type
+ * alone unless {@link #POLICY_HARDWARE} is asked for, either through {@link #setPolicy(int)} or the
+ * attribute below.</p>
+ *
+ * <p><strong>XML attributes</strong></p>
+ * <pre>
+ *   app:layerPolicy="enum" // Either "none" or "hardware". Default is "none"
+ * </pre>
+ */
+public final class LayerPolicy {
+
+    /**
+     * Leave the layer type of the view alone.
+     */
+    public static final int POLICY_NONE = 0;
+
+    /**
+     * Use a hardware layer for the length of an animation.
+     */
+    public static final int POLICY_HARDWARE = 1;
+
+    private static final int POLICY = POLICY_NONE;
+
+    private int mPolicy;
+    private boolean mPromoted;
+    private int mPromotionCount;
+
+    /**
+     * Create a policy with the default setting.
+     */
+    public LayerPolicy() {
+        mPolicy = POLICY;
+    }
+
+    /**
+     * Create a policy from the attributes of the view the behavior was inflated for.
+     *
+     * @param context Context given for the behavior.
+     * @param attrs   The attributes for the inflated XML tag.
+     */
+    public LayerPolicy(@NonNull Context context, @Nullable AttributeSet attrs) {
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.LayerPolicy);
+
+        try {
+            mPolicy = typedArray.getInt(R.styleable.LayerPolicy_layerPolicy, POLICY);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    /**
+     * Called when an animation starts. The view is put on a hardware layer unless it already has
+     * a layer of its own.
+     *
+     * @param view Animated view.
+     */
+    void begin(@NonNull View view) {
+        if (mPolicy == POLICY_HARDWARE && !mPromoted && view.getLayerType() == View.LAYER_TYPE_NONE) {
+            view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+
+            mPromoted = true;
+            mPromotionCount++;
+        }
+    }
+
+    /**
+     * Called when an animation ends. Any layer added by {@link #begin(View)} is removed.
+     *
+     * @param view Animated view.
+     */
+    void end(@NonNull View view) {
+        if (mPromoted) {
+            view.setLayerType(View.LAYER_TYPE_NONE, null);
+            mPromoted = false;
+        }
+    }
+
+    /**
+     * Get the layer policy.
+     *
+     * @return Either {@link #POLICY_NONE} or {@link #POLICY_HARDWARE}.
+     */
+    public int getPolicy() {
+        return mPolicy;
+    }
+
+    /**
+     * Set the layer policy. This takes effect on the next animation.
+     *
+     * @param policy Either {@link #POLICY_NONE} or {@link #POLICY_HARDWARE}.
+     */
+    public void setPolicy(int policy) {
+        mPolicy = policy;
+    }
+
+    /**
+     * Get the number of times the view was put on a hardware layer.
+     *
+     * @return Promotion count.
+     */
+    int getPromotionCount() {
+        return mPromotionCount;
+    }
+}
\ No newline at end of file
@@ -17,20 +17,19 @@ package com.unary.movableactionbutton;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
-import android.content.res.Configuration;
 import android.content.res.TypedArray;
-import android.graphics.PointF;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
-import android.view.View;
-import android.view.ViewConfiguration;
-import android.view.ViewGroup;
+import android.view.WindowInsets;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.view.WindowInsetsCompat;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.stateful.ExtendableSavedState;
@@ -42,35 +41,37 @@ import com.google.android.material.stateful.ExtendableSavedState;
  * <p><strong>XML attributes</strong></p>
  * <p>The following attributes in addition to the FloatingActionButton can modify the view:</p>
  * <pre>
- *   app:movable="boolean"       // Allow a clickable view to be moved
- *   app:movingAlpha="float"     // Multiplier used for moving. Default is "0.5"
- *   app:useMargins="boolean"    // Observe the layout margins when moving
+ *   app:movable="boolean"         // Allow a clickable view to be moved
+ *   app:movingAlpha="float"       // Multiplier used for moving. Default is "0.5"
+ *   app:dragRenderMode="flags"    // Any of "layer" and "flat" to draw cheaper while moving
+ *   app:useMargins="boolean"      // Observe the layout margins when moving
+ *   app:coalesceMoves="boolean"   // Apply at most one move per display frame
+ *   app:lowLatency="boolean"      // Unbuffered touch input on Android 11 and later
+ *   app:fling="boolean"           // Keep moving with the release velocity
+ *   app:snapMode="enum"           // One of "none", "edges", "corners" or "grid"
+ *   app:snapGridSize="dimension"  // Spacing used by grid snapping. Default is "48dp"
+ *   app:snapWhileMoving="boolean" // Also snap while the view is being dragged
+ *   app:persistPosition="boolean" // Keep the position across restarts. Needs an id
+ *   app:predictMotion="boolean"   // Move to where the finger will be at the next frame
+ *   app:predictionHorizon="float" // Time predicted ahead in ms. Default is "16"
+ *   app:predictionDamping="float" // Pull back uncertain predictions. Default is "1"
+ *   app:behaviorType="enum"       // One of "slide", "shrink", "dodge", "scrollHide", "none" or "custom"
  *
- *   android:clickable="boolean" // Default true for AppCompat themes
+ *   android:clickable="boolean"   // Default true for AppCompat themes
  * </pre>
  * <p>See {@link R.styleable#MovableActionButton MovableActionButton Attributes}, {@link R.styleable#View View Attributes}</p>
  */
 public class MovableActionButton extends FloatingActionButton {
 
-    private static final boolean MOVABLE = true;
-    private static final float MOVING_ALPHA = 0.5f;
-    private static final boolean USE_MARGINS = true;
     private static final boolean CLICKABLE = true;
+    private static final boolean PERSIST_POSITION = false;
 
-    private boolean mMovable;
-    private float mMovingAlpha;
-    private float mDefaultAlpha;
-    private boolean mUseMargins;
-    private int mTouchSlop;
-    private PointF mPortraitOrientation;
-    private PointF mLandscapeOrientation;
-    private float mDx;
-    private float mDy;
-    private float mStartX;
-    private float mStartY;
-    private boolean mMoving;
+    private MovableTouchHelper mTouchHelper;
     private CoordinatorLayout.Behavior<FloatingActionButton> mBehavior;
-    private OnMoveListener mOnMoveListener;
+    private int mBehaviorType;
+    private int mLayerPolicy;
+    private int mDodgeMode;
+    private int mHideMode;
 
     /**
      * Simple constructor to use when creating the view from code.
@@ -117,155 +118,137 @@ public class MovableActionButton extends FloatingActionButton {
         TypedArray typedArray = context.getTheme()
                 .obtainStyledAttributes(attrs, R.styleable.MovableActionButton, defStyleAttr, 0);
 
+        // Defaults come from the helper
+        mTouchHelper = new MovableTouchHelper(this);
+
         boolean clickable;
+        boolean persistPosition;
 
         try {
-            mMovable = typedArray.getBoolean(R.styleable.MovableActionButton_movable, MOVABLE);
-            mMovingAlpha = typedArray.getFloat(R.styleable.MovableActionButton_movingAlpha, MOVING_ALPHA);
-            mUseMargins = typedArray.getBoolean(R.styleable.MovableActionButton_useMargins, USE_MARGINS);
+            mTouchHelper.setMovable(typedArray.getBoolean(R.styleable.MovableActionButton_movable,
+                    mTouchHelper.isMovable()));
+            mTouchHelper.setMovingAlpha(typedArray.getFloat(R.styleable.MovableActionButton_movingAlpha,
+                    mTouchHelper.getMovingAlpha()));
+            mTouchHelper.setDragRenderMode(typedArray.getInt(R.styleable.MovableActionButton_dragRenderMode,
+                    mTouchHelper.getDragRenderMode()));
+            mTouchHelper.setUseMargins(typedArray.getBoolean(R.styleable.MovableActionButton_useMargins,
+                    mTouchHelper.canUseMargins()));
+            mTouchHelper.setCoalesceMoves(typedArray.getBoolean(R.styleable.MovableActionButton_coalesceMoves,
+                    mTouchHelper.canCoalesceMoves()));
+            mTouchHelper.setLowLatency(typedArray.getBoolean(R.styleable.MovableActionButton_lowLatency,
+                    mTouchHelper.isLowLatency()));
+            mTouchHelper.setFling(typedArray.getBoolean(R.styleable.MovableActionButton_fling,
+                    mTouchHelper.canFling()));
+            mTouchHelper.setSnapMode(typedArray.getInt(R.styleable.MovableActionButton_snapMode,
+                    mTouchHelper.getSnapMode()));
+            mTouchHelper.setSnapGridSize(typedArray.getDimension(R.styleable.MovableActionButton_snapGridSize,
+                    mTouchHelper.getSnapGridSize()));
+            mTouchHelper.setSnapWhileMoving(typedArray.getBoolean(R.styleable.MovableActionButton_snapWhileMoving,
+                    mTouchHelper.canSnapWhileMoving()));
+            mTouchHelper.setPredictMotion(typedArray.getBoolean(R.styleable.MovableActionButton_predictMotion,
+                    mTouchHelper.canPredictMotion()));
+            mTouchHelper.setPredictionHorizon(typedArray.getFloat(R.styleable.MovableActionButton_predictionHorizon,
+                    mTouchHelper.getPredictionHorizon()));
+            mTouchHelper.setPredictionDamping(typedArray.getFloat(R.styleable.MovableActionButton_predictionDamping,
+                    mTouchHelper.getPredictionDamping()));
+
+            persistPosition = typedArray.getBoolean(R.styleable.MovableActionButton_persistPosition,
+                    PERSIST_POSITION);
+
+            // Kept for when the behavior is created
+            mBehaviorType = typedArray.getInt(R.styleable.MovableActionButton_behaviorType, BehaviorType.SLIDE);
+            mLayerPolicy = typedArray.getInt(R.styleable.MovableActionButton_layerPolicy, LayerPolicy.POLICY_NONE);
+            mDodgeMode = typedArray.getInt(R.styleable.MovableActionButton_dodgeMode, DodgeBehavior.MODE_SLIDE);
+            mHideMode = typedArray.getInt(R.styleable.MovableActionButton_hideMode, ScrollHideBehavior.MODE_SLIDE);
 
             clickable = typedArray.getBoolean(R.styleable.MovableActionButton_android_clickable, CLICKABLE);
         } finally {
             typedArray.recycle();
         }
 
-        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
-
-        // Create reusable point objects
-        mPortraitOrientation = new PointF();
-        mLandscapeOrientation = new PointF();
-
-        // Create a default behavior
-        mBehavior = new SlideBehavior<>(context, attrs);
+        // Restored before the first layout
+        if (persistPosition) {
+            mTouchHelper.setPositionStore(PositionStore.getDefault(context));
+        }
 
         // Needed when using AppCompat theme
         setClickable(clickable);
     }
 
-    @SuppressLint("SwitchIntDef")
     @Override
     protected Parcelable onSaveInstanceState() {
-        ExtendableSavedState savedState = new ExtendableSavedState(super.onSaveInstanceState());
-        Bundle bundle = new Bundle();
-
-        // Uninitialized zero is okay
-        switch (getResources().getConfiguration().orientation) {
-            case Configuration.ORIENTATION_PORTRAIT:
-                mPortraitOrientation.x = getTranslationX();
-                mPortraitOrientation.y = getTranslationY();
-                break;
-            case Configuration.ORIENTATION_LANDSCAPE:
-                mLandscapeOrientation.x = getTranslationX();
-                mLandscapeOrientation.y = getTranslationY();
-                break;
-        }
-
-        // (Re)save both orientations
-        bundle.putParcelable("portrait", mPortraitOrientation);
-        bundle.putParcelable("landscape", mLandscapeOrientation);
-
-        savedState.extendableStates.put(getClass().getSimpleName(), bundle);
+        MovableSavedState savedState = new MovableSavedState(super.onSaveInstanceState());
+        mTouchHelper.onSaveInstanceState(savedState);
 
         return savedState;
     }
 
-    @SuppressLint("SwitchIntDef")
     @Override
     protected void onRestoreInstanceState(Parcelable state) {
-        if (!(state instanceof ExtendableSavedState)) {
+        if (state instanceof MovableSavedState) {
+            MovableSavedState savedState = (MovableSavedState) state;
+            super.onRestoreInstanceState(savedState.getSuperState());
+
+            mTouchHelper.onRestoreInstanceState(savedState);
+        } else if (state instanceof ExtendableSavedState
+                && ((ExtendableSavedState) state).extendableStates.containsKey(getClass().getSimpleName())) {
+            restoreLegacyState((ExtendableSavedState) state);
+        } else {
             super.onRestoreInstanceState(state);
-            return;
         }
+    }
 
-        ExtendableSavedState savedState = (ExtendableSavedState) state;
+    /**
+     * Restore the state saved by earlier versions, which wrapped the state of the superclass and
+     * kept a Bundle under the class name.
+     *
+     * @param savedState Saved state of the view.
+     */
+    private void restoreLegacyState(@NonNull ExtendableSavedState savedState) {
         super.onRestoreInstanceState(savedState.getSuperState());
 
         Bundle bundle = savedState.extendableStates.get(getClass().getSimpleName());
 
-        // (Re)restore both orientations
-        mPortraitOrientation = bundle.getParcelable("portrait");
-        mLandscapeOrientation = bundle.getParcelable("landscape");
-
-        // Uninitialized zero is okay
-        switch (getResources().getConfiguration().orientation) {
-            case Configuration.ORIENTATION_PORTRAIT:
-                setTranslationX(mPortraitOrientation.x);
-                setTranslationY(mPortraitOrientation.y);
-                break;
-            case Configuration.ORIENTATION_LANDSCAPE:
-                setTranslationX(mLandscapeOrientation.x);
-                setTranslationY(mLandscapeOrientation.y);
-                break;
+        if (bundle != null) {
+            mTouchHelper.onRestoreInstanceState(bundle);
         }
     }
 
     @SuppressLint("ClickableViewAccessibility")
     @Override
     public boolean onTouchEvent(@NonNull MotionEvent event) {
-        switch (event.getActionMasked()) {
-            case MotionEvent.ACTION_DOWN:
-                actionDown(event);
-                break;
-            case MotionEvent.ACTION_MOVE:
-                actionMove(event);
-                break;
-            case MotionEvent.ACTION_UP:
-                actionUp(event);
-                break;
-        }
+        mTouchHelper.onTouchEvent(event);
 
         return super.onTouchEvent(event);
     }
 
-    /**
-     * Save the default alpha and initial touch coordinates for the view.
-     *
-     * @param event MotionEvent object.
-     */
-    private void actionDown(@NonNull MotionEvent event) {
-        mDefaultAlpha = getAlpha();
-        mMoving = false;
-
-        mStartX = event.getRawX();
-        mStartY = event.getRawY();
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
 
-        mDx = getX() - mStartX;
-        mDy = getY() - mStartY;
+        // Parent or view size might differ
+        mTouchHelper.invalidateBounds();
     }
 
-    /**
-     * Move the view to the given coordinates while staying within the bounds of the parent view.
-     *
-     * @param event MotionEvent object.
-     */
-    private void actionMove(@NonNull MotionEvent event) {
-        float x = event.getRawX();
-        float y = event.getRawY();
-
-        if (mMoving || Math.abs(mStartX - x) > mTouchSlop || Math.abs(mStartY - y) > mTouchSlop) {
-            if (mMovable && onMoveEvent(event)) {
-                setAlpha(mDefaultAlpha * mMovingAlpha);
-
-                // Update the view location
-                animate().x(getInsideParentX(mDx + x)).y(getInsideParentY(mDy + y)).setDuration(0).start();
+    @RequiresApi(Build.VERSION_CODES.KITKAT_WATCH)
+    @Override
+    public WindowInsets dispatchApplyWindowInsets(WindowInsets insets) {
+        // Seen even with an app insets listener, which keeps that slot free
+        mTouchHelper.onApplyWindowInsets(WindowInsetsCompat.toWindowInsetsCompat(insets));
 
-                mMoving = true;
-            }
-        }
+        return super.dispatchApplyWindowInsets(insets);
     }
 
-    /**
-     * Restore the default alpha and abort the click if the view was moved.
-     *
-     * @param event MotionEvent object.
-     */
-    private void actionUp(@NonNull MotionEvent event) {
-        if (mMoving && onMoveEvent(event)) {
-            setAlpha(mDefaultAlpha);
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mTouchHelper.onViewAttachedToWindow(this);
+    }
 
-            // Eat the click
-            event.setAction(MotionEvent.ACTION_CANCEL);
-        }
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mTouchHelper.onViewDetachedFromWindow(this);
     }
 
     /**
@@ -276,11 +259,7 @@ public class MovableActionButton extends FloatingActionButton {
      * @return True if event is successful.
      */
     public boolean onMoveEvent(@NonNull MotionEvent event) {
-        if (mOnMoveListener != null) {
-            return mOnMoveListener.onMove(this, event);
-        }
-
-        return true;
+        return mTouchHelper.onMoveEvent(event);
     }
 
     /**
@@ -290,10 +269,7 @@ public class MovableActionButton extends FloatingActionButton {
      * @return Bound X axis.
      */
     protected float getInsideParentX(float x) {
-        ViewGroup.MarginLayoutParams lp = getMarginLayoutParams();
-
-        return Math.min(Math.max(x, lp.leftMargin + ((View) getParent()).getPaddingLeft()),
-                ((View) getParent()).getWidth() - lp.rightMargin - ((View) getParent()).getPaddingRight() - getWidth());
+        return mTouchHelper.getInsideParentX(x);
     }
 
     /**
@@ -303,27 +279,29 @@ public class MovableActionButton extends FloatingActionButton {
      * @return Bound Y axis.
      */
     protected float getInsideParentY(float y) {
-        ViewGroup.MarginLayoutParams lp = getMarginLayoutParams();
+        return mTouchHelper.getInsideParentY(y);
+    }
+
+    @NonNull
+    @Override
+    public CoordinatorLayout.Behavior<FloatingActionButton> getBehavior() {
+        // Only views in a CoordinatorLayout pay for one
+        if (mBehavior == null) {
+            mBehavior = BehaviorType.create(mBehaviorType, mLayerPolicy, mDodgeMode, mHideMode);
+        }
 
-        return Math.min(Math.max(y, lp.topMargin + ((View) getParent()).getPaddingTop()),
-                ((View) getParent()).getHeight() - lp.bottomMargin - ((View) getParent()).getPaddingBottom() - getHeight());
+        return mBehavior;
     }
 
     /**
-     * Create a cast safe copy of the current margin layout parameters according to useMargins.
+     * Get the drag engine used by this view. It provides access to the fling, snapping and other
+     * movement settings.
      *
-     * @return Margin layout parameters.
+     * @return Drag engine.
      */
     @NonNull
-    private ViewGroup.MarginLayoutParams getMarginLayoutParams() {
-        return mUseMargins && getLayoutParams() instanceof ViewGroup.MarginLayoutParams
-                ? (ViewGroup.MarginLayoutParams) getLayoutParams() : new ViewGroup.MarginLayoutParams(getLayoutParams());
-    }
-
-    @NonNull
-    @Override
-    public CoordinatorLayout.Behavior<FloatingActionButton> getBehavior() {
-        return mBehavior;
+    public MovableTouchHelper getTouchHelper() {
+        return mTouchHelper;
     }
 
     /**
@@ -332,7 +310,7 @@ public class MovableActionButton extends FloatingActionButton {
      * @return True if moving is enabled.
      */
     public boolean isMovable() {
-        return mMovable;
+        return mTouchHelper.isMovable();
     }
 
     /**
@@ -341,7 +319,7 @@ public class MovableActionButton extends FloatingActionButton {
      * @param movable True if moving is enabled.
      */
     public void setMovable(boolean movable) {
-        mMovable = movable;
+        mTouchHelper.setMovable(movable);
     }
 
     /**
@@ -350,7 +328,7 @@ public class MovableActionButton extends FloatingActionButton {
      * @return The alpha multiplier.
      */
     public float getMovingAlpha() {
-        return mMovingAlpha;
+        return mTouchHelper.getMovingAlpha();
     }
 
     /**
@@ -359,7 +337,27 @@ public class MovableActionButton extends FloatingActionButton {
      * @param movingAlpha The alpha multiplier.
      */
     public void setMovingAlpha(float movingAlpha) {
-        mMovingAlpha = movingAlpha;
+        mTouchHelper.setMovingAlpha(movingAlpha);
+    }
+
+    /**
+     * Get how the view is rendered while it is being dragged.
+     *
+     * @return Drag render mode flags.
+     */
+    public int getDragRenderMode() {
+        return mTouchHelper.getDragRenderMode();
+    }
+
+    /**
+     * Set how the view is rendered while it is being dragged. The moving alpha is always applied
+     * once when the drag starts. A layer can make the translucent view cheaper to draw, and a flat
+     * view has no shadow to draw. Everything is restored when the view is released.
+     *
+     * @param dragRenderMode Drag render mode flags. See {@link MovableTouchHelper#setDragRenderMode(int)}.
+     */
+    public void setDragRenderMode(int dragRenderMode) {
+        mTouchHelper.setDragRenderMode(dragRenderMode);
     }
 
     /**
@@ -368,7 +366,7 @@ public class MovableActionButton extends FloatingActionButton {
      * @return True if using margins.
      */
     public boolean canUseMargins() {
-        return mUseMargins;
+        return mTouchHelper.canUseMargins();
     }
 
     /**
@@ -377,7 +375,47 @@ public class MovableActionButton extends FloatingActionButton {
      * @param useMargins True if using margins.
      */
     public void setUseMargins(boolean useMargins) {
-        mUseMargins = useMargins;
+        mTouchHelper.setUseMargins(useMargins);
+    }
+
+    /**
+     * Check if touch samples are delivered as soon as they arrive rather than batched to the
+     * display frame.
+     *
+     * @return True if low latency.
+     */
+    public boolean isLowLatency() {
+        return mTouchHelper.isLowLatency();
+    }
+
+    /**
+     * Set if touch samples are delivered as soon as they arrive rather than batched to the display
+     * frame. This has no effect on input before Android 11.
+     *
+     * @param lowLatency True if low latency. See {@link MovableTouchHelper#setLowLatency(boolean)}.
+     */
+    public void setLowLatency(boolean lowLatency) {
+        mTouchHelper.setLowLatency(lowLatency);
+    }
+
+    /**
+     * Check if the view is moved to where the finger is predicted to be, rather than where it was
+     * last seen.
+     *
+     * @return True if predicting.
+     */
+    public boolean canPredictMotion() {
+        return mTouchHelper.canPredictMotion();
+    }
+
+    /**
+     * Set if the view is moved to where the finger is predicted to be at the next frame. The
+     * horizon and damping are set on the touch helper.
+     *
+     * @param predictMotion True if predicting. See {@link MovableTouchHelper#setPredictMotion(boolean)}.
+     */
+    public void setPredictMotion(boolean predictMotion) {
+        mTouchHelper.setPredictMotion(predictMotion);
     }
 
     /**
@@ -388,7 +426,7 @@ public class MovableActionButton extends FloatingActionButton {
      */
     @Nullable
     public OnMoveListener getOnMoveListener() {
-        return mOnMoveListener;
+        return mTouchHelper.getOnMoveListener();
     }
 
     /**
@@ -398,6 +436,107 @@ public class MovableActionButton extends FloatingActionButton {
      * @param onMoveListener Move notification listener.
      */
     public void setOnMoveListener(@Nullable OnMoveListener onMoveListener) {
-        mOnMoveListener = onMoveListener;
+        mTouchHelper.setOnMoveListener(onMoveListener);
+    }
+
+    /**
+     * Get the provider of the allowed region and exclusion zones of the view.
+     *
+     * @return Bounds provider.
+     */
+    @Nullable
+    public BoundsProvider getBoundsProvider() {
+        return mTouchHelper.getBoundsProvider();
+    }
+
+    /**
+     * Set the provider of the allowed region and exclusion zones of the view.
+     *
+     * @param boundsProvider Bounds provider. See {@link MovableTouchHelper#setBoundsProvider(BoundsProvider)}.
+     */
+    public void setBoundsProvider(@Nullable BoundsProvider boundsProvider) {
+        mTouchHelper.setBoundsProvider(boundsProvider);
+    }
+
+    /**
+     * Get the drop targets the view can be dragged onto.
+     *
+     * @return Drop target registry.
+     */
+    @Nullable
+    public DropTargetRegistry getDropTargets() {
+        return mTouchHelper.getDropTargets();
+    }
+
+    /**
+     * Set the drop targets the view can be dragged onto.
+     *
+     * @param dropTargets Drop target registry. See {@link MovableTouchHelper#setDropTargets(DropTargetRegistry)}.
+     */
+    public void setDropTargets(@Nullable DropTargetRegistry dropTargets) {
+        mTouchHelper.setDropTargets(dropTargets);
+    }
+
+    /**
+     * Get the drop listener for this instance. The interface is used to notify the client when the
+     * view is dragged over and dropped on its drop targets.
+     *
+     * @return Drop listener.
+     */
+    @Nullable
+    public OnDropListener getOnDropListener() {
+        return mTouchHelper.getOnDropListener();
+    }
+
+    /**
+     * Set the drop listener for this instance. The interface is used to notify the client when the
+     * view is dragged over and dropped on its drop targets.
+     *
+     * @param onDropListener Drop listener.
+     */
+    public void setOnDropListener(@Nullable OnDropListener onDropListener) {
+        mTouchHelper.setOnDropListener(onDropListener);
+    }
+
+    /**
+     * Get the store used to keep the position of the view across restarts.
+     *
+     * @return Position store.
+     */
+    @Nullable
+    public PositionStore getPositionStore() {
+        return mTouchHelper.getPositionStore();
+    }
+
+    /**
+     * Set the store used to keep the position of the view across restarts. A stored position for
+     * the view id and orientation is applied before the next frame. Views without an id are not
+     * stored.
+     *
+     * @param positionStore Position store.
+     */
+    public void setPositionStore(@Nullable PositionStore positionStore) {
+        mTouchHelper.setPositionStore(positionStore);
+    }
+
+    /**
+     * Get the metrics listener for this instance. The interface is used to report the cost of each
+     * touch gesture.
+     *
+     * @return Drag metrics listener.
+     */
+    @Nullable
+    public OnDragMetricsListener getOnDragMetricsListener() {
+        return mTouchHelper.getOnDragMetricsListener();
+    }
+
+    /**
+     * Set the metrics listener for this instance. The interface is used to report the cost of each
+     * touch gesture. Touch events are only timed while a listener is set.
+     *
+     * @param onDragMetricsListener Drag metrics listener.
+     */
+    public void setOnDragMetricsListener(@Nullable OnDragMetricsListener onDragMetricsListener) {
+        mTouchHelper.setOnDragMetricsListener(onDragMetricsListener);
     }
 }
\ No newline at end of file
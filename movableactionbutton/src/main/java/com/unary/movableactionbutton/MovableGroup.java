@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.unary.movableactionbutton.core.SpatialGrid;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps a group of movable views in the same parent from overlapping each other. The rectangles of
+ * the views are kept in a {@link SpatialGrid}, so a moving view only checks the views near it
+ * instead of every other view in the group.
+ *
+ * <p>A dragged view is pushed out of any view it runs into, both while it is moving and where it
+ * comes to rest. A view is in at most one group, so adding it to another group moves it there.</p>
+ */
+public class MovableGroup {
+
+    private static final float CELL_SIZE = 64f; // dp
+    private static final int MAX_ITERATIONS = 4;
+
+    private final SpatialGrid mGrid;
+    private final ArrayList<MovableTouchHelper> mHelpers;
+    private int[] mNeighbors;
+
+    /**
+     * Create an empty group.
+     *
+     * @param context Context used for the display density.
+     */
+    public MovableGroup(@NonNull Context context) {
+        mGrid = new SpatialGrid(CELL_SIZE * context.getResources().getDisplayMetrics().density);
+        mHelpers = new ArrayList<>();
+        mNeighbors = new int[0];
+    }
+
+    /**
+     * Add a button to the group.
+     *
+     * @param button Button to add.
+     */
+    public void add(@NonNull MovableActionButton button) {
+        add(button.getTouchHelper());
+    }
+
+    /**
+     * Add an extended button to the group.
+     *
+     * @param button Button to add.
+     */
+    public void add(@NonNull ExtendedMovableActionButton button) {
+        add(button.getTouchHelper());
+    }
+
+    /**
+     * Add any view moved by a touch helper to the group.
+     *
+     * @param helper Touch helper of the view.
+     */
+    public void add(@NonNull MovableTouchHelper helper) {
+        if (helper.getGroup() != null) {
+            helper.getGroup().remove(helper);
+        }
+
+        // Reuse a free id
+        int id = mHelpers.indexOf(null);
+
+        if (id < 0) {
+            id = mHelpers.size();
+            mHelpers.add(helper);
+            mNeighbors = new int[mHelpers.size()];
+        } else {
+            mHelpers.set(id, helper);
+        }
+
+        helper.setGroup(this, id);
+        update(helper);
+    }
+
+    /**
+     * Remove a button from the group.
+     *
+     * @param button Button to remove.
+     */
+    public void remove(@NonNull MovableActionButton button) {
+        remove(button.getTouchHelper());
+    }
+
+    /**
+     * Remove an extended button from the group.
+     *
+     * @param button Button to remove.
+     */
+    public void remove(@NonNull ExtendedMovableActionButton button) {
+        remove(button.getTouchHelper());
+    }
+
+    /**
+     * Remove a view moved by a touch helper from the group.
+     *
+     * @param helper Touch helper of the view.
+     */
+    public void remove(@NonNull MovableTouchHelper helper) {
+        if (helper.getGroup() != this) {
+            return;
+        }
+
+        int id = helper.getGroupId();
+
+        mGrid.remove(id);
+        mHelpers.set(id, null);
+        helper.setGroup(null, -1);
+    }
+
+    /**
+     * Get the number of views in the group.
+     *
+     * @return View count.
+     */
+    public int size() {
+        return mGrid.size();
+    }
+
+    /**
+     * Record the current location of a view. Views that have not been laid out yet are left out
+     * until they are.
+     *
+     * @param helper Touch helper of the view.
+     */
+    void update(@NonNull MovableTouchHelper helper) {
+        View view = helper.getView();
+
+        if (view.getWidth() > 0 && view.getHeight() > 0) {
+            put(helper.getGroupId(), view, view.getX(), view.getY());
+        }
+    }
+
+    /**
+     * Move the given location of a view out of any view it overlaps, while staying inside its
+     * bounds. Each overlap is undone along its shallowest axis, which is repeated a few times for
+     * views pushed into another one. The result is recorded as the new location of the view.
+     *
+     * @param helper Touch helper of the view.
+     * @param x      The X Axis.
+     * @param y      The Y Axis.
+     * @param out    Array receiving the resolved X and Y axes.
+     * @return True if the location was changed.
+     */
+    boolean resolve(@NonNull MovableTouchHelper helper, float x, float y, float[] out) {
+        View view = helper.getView();
+        int id = helper.getGroupId();
+        float width = view.getWidth();
+        float height = view.getHeight();
+        float startX = x;
+        float startY = y;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            int count = mGrid.query(x, y, x + width, y + height, mNeighbors);
+            boolean pushed = false;
+
+            for (int j = 0; j < count; j++) {
+                int neighbor = mNeighbors[j];
+
+                if (neighbor == id) {
+                    continue;
+                }
+
+                float left = mGrid.getLeft(neighbor);
+                float top = mGrid.getTop(neighbor);
+                float right = mGrid.getRight(neighbor);
+                float bottom = mGrid.getBottom(neighbor);
+
+                // Shallowest way out
+                float pushX = x + width / 2 < (left + right) / 2 ? left - (x + width) : right - x;
+                float pushY = y + height / 2 < (top + bottom) / 2 ? top - (y + height) : bottom - y;
+
+                if (Math.abs(pushX) < Math.abs(pushY)) {
+                    x += pushX;
+                } else {
+                    y += pushY;
+                }
+
+                pushed = true;
+            }
+
+            if (!pushed) {
+                break;
+            }
+
+            x = helper.getInsideParentX(x);
+            y = helper.getInsideParentY(y);
+        }
+
+        out[0] = x;
+        out[1] = y;
+
+        put(id, view, x, y);
+
+        return x != startX || y != startY;
+    }
+
+    /**
+     * Store the rectangle of a view at the given location.
+     *
+     * @param id   Id of the view in the group.
+     * @param view View to store.
+     * @param x    The X Axis.
+     * @param y    The Y Axis.
+     */
+    private void put(int id, @NonNull View view, float x, float y) {
+        mGrid.put(id, x, y, x + view.getWidth(), y + view.getHeight());
+    }
+}
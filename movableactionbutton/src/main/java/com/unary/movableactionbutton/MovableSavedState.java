@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.customview.view.AbsSavedState;
+
+/**
+ * Saved state of a movable view. The translation for each orientation is kept as primitive floats
+ * behind a version number, so the parcel stays small and can be extended later. The state is saved
+ * per view, under the view id, like any other view state.
+ */
+public final class MovableSavedState extends AbsSavedState {
+
+    private static final int VERSION = 1;
+
+    float portraitX;
+    float portraitY;
+    float landscapeX;
+    float landscapeY;
+
+    /**
+     * Create a saved state on top of the state of the superclass.
+     *
+     * @param superState State of the superclass.
+     */
+    public MovableSavedState(@NonNull Parcelable superState) {
+        super(superState);
+    }
+
+    /**
+     * Read a saved state from a parcel. Values from an unknown version are left at zero.
+     *
+     * @param source Parcel to read from.
+     * @param loader Class loader for the state of the superclass.
+     */
+    MovableSavedState(@NonNull Parcel source, @Nullable ClassLoader loader) {
+        super(source, loader);
+
+        if (source.readInt() == VERSION) {
+            portraitX = source.readFloat();
+            portraitY = source.readFloat();
+            landscapeX = source.readFloat();
+            landscapeY = source.readFloat();
+        }
+    }
+
+    @Override
+    public void writeToParcel(@NonNull Parcel dest, int flags) {
+        super.writeToParcel(dest, flags);
+
+        dest.writeInt(VERSION);
+        dest.writeFloat(portraitX);
+        dest.writeFloat(portraitY);
+        dest.writeFloat(landscapeX);
+        dest.writeFloat(landscapeY);
+    }
+
+    public static final Creator<MovableSavedState> CREATOR = new ClassLoaderCreator<MovableSavedState>() {
+        @NonNull
+        @Override
+        public MovableSavedState createFromParcel(@NonNull Parcel source, @Nullable ClassLoader loader) {
+            return new MovableSavedState(source, loader);
+        }
+
+        @NonNull
+        @Override
+        public MovableSavedState createFromParcel(@NonNull Parcel source) {
+            return new MovableSavedState(source, null);
+        }
+
+        @NonNull
+        @Override
+        public MovableSavedState[] newArray(int size) {
+            return new MovableSavedState[size];
+        }
+    };
+}
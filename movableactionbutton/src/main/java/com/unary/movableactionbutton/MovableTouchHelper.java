@@ -0,0 +1,1663 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.annotation.SuppressLint;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.DisplayCutoutCompat;
+import androidx.core.view.OnApplyWindowInsetsListener;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import com.unary.movableactionbutton.core.FrameClock;
+import com.unary.movableactionbutton.core.MotionPredictor;
+import com.unary.movableactionbutton.core.MovementBounds;
+import com.unary.movableactionbutton.core.MovementConstraints;
+import com.unary.movableactionbutton.core.SettlePhysics;
+import com.unary.movableactionbutton.core.SnapIndex;
+
+/**
+ * A drag engine that lets the user reposition a view within the confines of its parent. It owns
+ * the touch handling, movement bounds, fling and snapping, state saving and listener dispatch used
+ * by the movable widgets, and can be attached to any other view.
+ *
+ * <p>Use {@link #attach(View)} to make an existing view movable. Custom views can instead create
+ * a helper and forward {@link View#onTouchEvent(MotionEvent)}, layout and detach events to it.
+ * Note that views that are not clickable are also not movable.</p>
+ *
+ * <p>The view is kept clear of the system bars and display cutout when the helper is installed as
+ * its window insets listener, which both {@link #attach(View)} and the movable widgets do.</p>
+ */
+public class MovableTouchHelper implements View.OnTouchListener, View.OnLayoutChangeListener,
+        View.OnAttachStateChangeListener, ViewTreeObserver.OnPreDrawListener, OnApplyWindowInsetsListener {
+
+    /**
+     * Do not snap after moving.
+     */
+    public static final int SNAP_NONE = SnapIndex.MODE_NONE;
+
+    /**
+     * Snap to the nearest edge of the parent.
+     */
+    public static final int SNAP_EDGES = SnapIndex.MODE_EDGES;
+
+    /**
+     * Snap to the nearest corner of the parent.
+     */
+    public static final int SNAP_CORNERS = SnapIndex.MODE_CORNERS;
+
+    /**
+     * Snap to the nearest point of a grid starting at the top left of the parent.
+     */
+    public static final int SNAP_GRID = SnapIndex.MODE_GRID;
+
+    /**
+     * Only apply the moving alpha while dragging.
+     */
+    public static final int RENDER_ALPHA = 0;
+
+    /**
+     * Draw the view from a hardware layer while dragging.
+     */
+    public static final int RENDER_LAYER = 1;
+
+    /**
+     * Drop the elevation, and with it the shadow, while dragging. This needs API 21 or higher.
+     */
+    public static final int RENDER_FLAT = 2;
+
+    private static final boolean MOVABLE = true;
+    private static final float MOVING_ALPHA = 0.5f;
+    private static final boolean USE_MARGINS = true;
+    private static final boolean COALESCE_MOVES = false;
+    private static final boolean LOW_LATENCY = false;
+    private static final boolean FLING = false;
+    private static final int SNAP_MODE = SNAP_NONE;
+    private static final float SNAP_GRID_SIZE = 48f; // dp
+    private static final boolean SNAP_WHILE_MOVING = false;
+    private static final int DRAG_RENDER_MODE = RENDER_ALPHA;
+    private static final boolean PREDICT_MOTION = false;
+    private static final float PREDICTION_HORIZON = 16f; // ms
+    private static final float PREDICTION_DAMPING = 1f;
+
+    private final View mView;
+    private boolean mMovable;
+    private float mMovingAlpha;
+    private float mDefaultAlpha;
+    private boolean mUseMargins;
+    private boolean mCoalesceMoves;
+    private boolean mLowLatency;
+    private boolean mFling;
+    private int mSnapMode;
+    private float mSnapGridSize;
+    private boolean mSnapWhileMoving;
+    private int mDragRenderMode;
+    private boolean mDragLayer;
+    private boolean mDragFlat;
+    private float mDefaultElevation;
+    private boolean mPredictMotion;
+    private final MotionPredictor mMotionPredictor;
+    private final int mTouchSlop;
+    private final int mMinFlingVelocity;
+    private final int mMaxFlingVelocity;
+    private final PointF mPortraitOrientation;
+    private final PointF mLandscapeOrientation;
+    private float mDx;
+    private float mDy;
+    private float mStartX;
+    private float mStartY;
+    private boolean mMoving;
+    private boolean mTouching;
+    private final MovementBounds mBounds;
+    private final Rect mInsets;
+    private final int[] mLocation;
+    private boolean mHasInsets;
+    private boolean mInsetsListener;
+    private BoundsProvider mBoundsProvider;
+    private final MovementConstraints mConstraints;
+    private boolean mConstraintsValid;
+    private FrameClock mFrameClock;
+    private final FrameMover mFrameMover;
+    private final SettleAnimator mSettleAnimator;
+    private VelocityTracker mVelocityTracker;
+    private final SnapIndex mSnapIndex;
+    private final float[] mSnapPoint;
+    private final DragMetrics mDragMetrics;
+    private int mAppliedAtDown;
+    private int mCoalescedAtDown;
+    private OnMoveListener mOnMoveListener;
+    private OnDragMetricsListener mOnDragMetricsListener;
+    private PositionStore mPositionStore;
+    private final PointF mStoredPosition;
+    private float mRestoreX;
+    private float mRestoreY;
+    private boolean mRestorePending;
+    private boolean mRestoreDeferred;
+    private ViewTreeObserver mRestoreObserver;
+    private MovableGroup mGroup;
+    private int mGroupId;
+    private boolean mResolvingSettle;
+    private DropTargetRegistry mDropTargets;
+    private OnDropListener mOnDropListener;
+    private int mDropTarget;
+
+    /**
+     * Create a drag engine for the given view. The caller is responsible for forwarding touch,
+     * layout, attach and detach events, or can use {@link #attach(View)} instead.
+     *
+     * @param view View to be moved.
+     */
+    public MovableTouchHelper(@NonNull View view) {
+        mView = view;
+
+        mMovable = MOVABLE;
+        mMovingAlpha = MOVING_ALPHA;
+        mUseMargins = USE_MARGINS;
+        mCoalesceMoves = COALESCE_MOVES;
+        mLowLatency = LOW_LATENCY;
+        mFling = FLING;
+        mSnapMode = SNAP_MODE;
+        mSnapGridSize = SNAP_GRID_SIZE * view.getResources().getDisplayMetrics().density;
+        mSnapWhileMoving = SNAP_WHILE_MOVING;
+        mDragRenderMode = DRAG_RENDER_MODE;
+        mPredictMotion = PREDICT_MOTION;
+        mDropTarget = DropTargetRegistry.NO_TARGET;
+
+        ViewConfiguration viewConfiguration = ViewConfiguration.get(view.getContext());
+
+        mTouchSlop = viewConfiguration.getScaledTouchSlop();
+        mMinFlingVelocity = viewConfiguration.getScaledMinimumFlingVelocity();
+        mMaxFlingVelocity = viewConfiguration.getScaledMaximumFlingVelocity();
+
+        // Create reusable point objects
+        mPortraitOrientation = new PointF();
+        mLandscapeOrientation = new PointF();
+        mBounds = new MovementBounds();
+        mInsets = new Rect();
+        mLocation = new int[2];
+        mConstraints = new MovementConstraints();
+        mFrameClock = ChoreographerFrameClock.getInstance();
+        mFrameMover = new FrameMover(view, mFrameClock);
+        mSettleAnimator = new SettleAnimator(view, mBounds, mFrameClock, new Runnable() {
+            @Override
+            public void run() {
+                onSettled();
+            }
+        });
+        mDragMetrics = new DragMetrics();
+        mStoredPosition = new PointF();
+        mMotionPredictor = new MotionPredictor(PREDICTION_HORIZON, PREDICTION_DAMPING);
+
+        // Rebuilt when the bounds change
+        mSnapIndex = new SnapIndex();
+        mSnapPoint = new float[2];
+        updateSnapIndex();
+    }
+
+    /**
+     * Make an existing view movable. The helper is installed as the touch listener of the view and
+     * also listens for layout and detach events. It is also installed as the window insets listener,
+     * so an app that needs that slot should set its own listener afterwards and pass the insets on
+     * to {@link #onApplyWindowInsets(WindowInsetsCompat)}. The slot then belongs to the app and is
+     * left alone by {@link #detach()}.
+     *
+     * @param view View to be moved.
+     * @return The attached helper.
+     */
+    @NonNull
+    public static MovableTouchHelper attach(@NonNull View view) {
+        MovableTouchHelper helper = new MovableTouchHelper(view);
+
+        view.setOnTouchListener(helper);
+        view.addOnLayoutChangeListener(helper);
+        view.addOnAttachStateChangeListener(helper);
+        ViewCompat.setOnApplyWindowInsetsListener(view, helper);
+        helper.mInsetsListener = true;
+
+        // Insets may have been dispatched already
+        ViewCompat.requestApplyInsets(view);
+
+        return helper;
+    }
+
+    /**
+     * Remove a helper installed with {@link #attach(View)} from its view. The window insets
+     * listener is only cleared if it is still the helper.
+     */
+    public void detach() {
+        mView.setOnTouchListener(null);
+        mView.removeOnLayoutChangeListener(this);
+        mView.removeOnAttachStateChangeListener(this);
+
+        if (mInsetsListener) {
+            ViewCompat.setOnApplyWindowInsetsListener(mView, null);
+            mInsetsListener = false;
+        }
+
+        if (mBoundsProvider != null) {
+            mBoundsProvider.unregister(this);
+        }
+
+        abortAnimations();
+    }
+
+    /**
+     * Get the view moved by this helper.
+     *
+     * @return Moving view.
+     */
+    @NonNull
+    public View getView() {
+        return mView;
+    }
+
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouch(@NonNull View view, @NonNull MotionEvent event) {
+        onTouchEvent(event);
+
+        // Let the view handle clicks
+        return false;
+    }
+
+    @Override
+    public void onLayoutChange(View view, int left, int top, int right, int bottom,
+                               int oldLeft, int oldTop, int oldRight, int oldBottom) {
+        invalidateBounds();
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View view) {
+        // Listener was merged into the window observer
+        if (mRestorePending) {
+            mRestoreObserver = mView.getViewTreeObserver();
+        }
+
+        // Restore cut short by an earlier detach
+        if (mRestoreDeferred) {
+            mRestoreDeferred = false;
+            restoreTranslation(mRestoreX, mRestoreY);
+        }
+
+        // Changes were missed while detached
+        if (mBoundsProvider != null) {
+            mBoundsProvider.register(this);
+            invalidateConstraints();
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View view) {
+        // A longer lived provider must not keep the view
+        if (mBoundsProvider != null) {
+            mBoundsProvider.unregister(this);
+        }
+
+        abortAnimations();
+    }
+
+    /**
+     * Cache the insets of a view made movable with {@link #attach(View)} and let the view apply its
+     * default handling. The insets are not consumed.
+     *
+     * @param view   Moving view.
+     * @param insets Window insets dispatched to the view.
+     * @return The insets after the view has applied its default handling.
+     */
+    @NonNull
+    @Override
+    public WindowInsetsCompat onApplyWindowInsets(@NonNull View view, @NonNull WindowInsetsCompat insets) {
+        updateInsets(insets);
+
+        return ViewCompat.onApplyWindowInsets(view, insets);
+    }
+
+    /**
+     * Cache the system bar and display cutout insets that the view should be kept clear of. The
+     * movement bounds are only resolved against the cached insets, and a view already placed
+     * under new insets is clamped again before the next frame. This should be called whenever
+     * insets are dispatched to the view.
+     *
+     * @param insets Window insets dispatched to the view.
+     */
+    public void onApplyWindowInsets(@NonNull WindowInsetsCompat insets) {
+        // Passed on by whoever replaced the helper as the listener
+        mInsetsListener = false;
+
+        updateInsets(insets);
+    }
+
+    /**
+     * Cache the insets dispatched to the view, clamping it again if they changed.
+     *
+     * @param insets Window insets dispatched to the view.
+     */
+    private void updateInsets(@NonNull WindowInsetsCompat insets) {
+        int left = insets.getSystemWindowInsetLeft();
+        int top = insets.getSystemWindowInsetTop();
+        int right = insets.getSystemWindowInsetRight();
+        int bottom = insets.getSystemWindowInsetBottom();
+
+        DisplayCutoutCompat cutout = insets.getDisplayCutout();
+
+        if (cutout != null) {
+            left = Math.max(left, cutout.getSafeInsetLeft());
+            top = Math.max(top, cutout.getSafeInsetTop());
+            right = Math.max(right, cutout.getSafeInsetRight());
+            bottom = Math.max(bottom, cutout.getSafeInsetBottom());
+        }
+
+        if (left != mInsets.left || top != mInsets.top || right != mInsets.right || bottom != mInsets.bottom) {
+            mInsets.set(left, top, right, bottom);
+            mHasInsets = left != 0 || top != 0 || right != 0 || bottom != 0;
+            reclamp();
+        }
+    }
+
+    @Override
+    public boolean onPreDraw() {
+        removeRestoreListener();
+
+        // Removed from the parent since
+        if (mView.getParent() == null) {
+            mRestoreDeferred = true;
+            return true;
+        }
+
+        // Laid out by now, so the bounds are fresh
+        updateBounds();
+
+        float x = mBounds.clampX(mView.getLeft() + mRestoreX);
+        float y = mBounds.clampY(mView.getTop() + mRestoreY);
+
+        if (mBoundsProvider != null) {
+            mConstraints.constrain(x, y, mSnapPoint);
+
+            x = mSnapPoint[0];
+            y = mSnapPoint[1];
+        }
+
+        mView.setX(x);
+        mView.setY(y);
+
+        if (mGroup != null) {
+            mGroup.update(this);
+        }
+
+        return true;
+    }
+
+    /**
+     * Process a touch event for the view. An ACTION_UP event is changed to ACTION_CANCEL if the
+     * view was moved, so the view will not also perform a click.
+     *
+     * @param event MotionEvent object.
+     */
+    public void onTouchEvent(@NonNull MotionEvent event) {
+        // Only timed when someone is listening
+        long startNanos = mOnDragMetricsListener != null ? System.nanoTime() : 0;
+        int action = event.getActionMasked();
+
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                actionDown(event);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                actionMove(event);
+                break;
+            case MotionEvent.ACTION_UP:
+                actionUp(event);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                actionCancel();
+                break;
+        }
+
+        if (mOnDragMetricsListener != null) {
+            mDragMetrics.addTouchEvent(System.nanoTime() - startNanos);
+
+            if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+                dispatchDragMetrics(event);
+            }
+        }
+    }
+
+    /**
+     * Mark the movement bounds as stale. This should be called whenever the view is laid out.
+     */
+    public void invalidateBounds() {
+        mBounds.invalidate();
+
+        if (mGroup != null) {
+            mGroup.update(this);
+        }
+    }
+
+    /**
+     * Stop any pending move or running fling and release the velocity tracker. A pending restore is
+     * put off until the view is attached again. This should be called when the view is detached
+     * from its window.
+     */
+    public void abortAnimations() {
+        mFrameMover.cancel();
+
+        if (mRestorePending) {
+            removeRestoreListener();
+            mRestoreDeferred = true;
+        }
+
+        // Keep where the fling stopped
+        if (mSettleAnimator.isRunning()) {
+            mSettleAnimator.cancel();
+            storePosition();
+        }
+
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    /**
+     * Save the current translation for this orientation along with the one saved for the other.
+     *
+     * @return Bundle holding both orientations.
+     */
+    @NonNull
+    public Bundle onSaveInstanceState() {
+        Bundle bundle = new Bundle();
+
+        saveOrientation();
+
+        // (Re)save both orientations
+        bundle.putParcelable("portrait", mPortraitOrientation);
+        bundle.putParcelable("landscape", mLandscapeOrientation);
+
+        return bundle;
+    }
+
+    /**
+     * Save the current translation for this orientation along with the one saved for the other.
+     * Unlike the Bundle version this only writes primitive fields.
+     *
+     * @param state Saved state of the view.
+     */
+    public void onSaveInstanceState(@NonNull MovableSavedState state) {
+        saveOrientation();
+
+        state.portraitX = mPortraitOrientation.x;
+        state.portraitY = mPortraitOrientation.y;
+        state.landscapeX = mLandscapeOrientation.x;
+        state.landscapeY = mLandscapeOrientation.y;
+    }
+
+    /**
+     * Restore both orientations and apply the translation saved for the current one. The translation
+     * is applied before the next frame and kept inside the bounds of the parent view.
+     *
+     * @param bundle Bundle from {@link #onSaveInstanceState()}.
+     */
+    public void onRestoreInstanceState(@NonNull Bundle bundle) {
+        PointF portrait = bundle.getParcelable("portrait");
+        PointF landscape = bundle.getParcelable("landscape");
+
+        // (Re)restore both orientations
+        if (portrait != null) {
+            mPortraitOrientation.set(portrait);
+        }
+
+        if (landscape != null) {
+            mLandscapeOrientation.set(landscape);
+        }
+
+        restoreOrientation();
+    }
+
+    /**
+     * Restore both orientations and apply the translation saved for the current one. The translation
+     * is applied before the next frame and kept inside the bounds of the parent view.
+     *
+     * @param state Saved state from {@link #onSaveInstanceState(MovableSavedState)}.
+     */
+    public void onRestoreInstanceState(@NonNull MovableSavedState state) {
+        mPortraitOrientation.set(state.portraitX, state.portraitY);
+        mLandscapeOrientation.set(state.landscapeX, state.landscapeY);
+
+        restoreOrientation();
+    }
+
+    /**
+     * Keep the current translation as the one for this orientation.
+     */
+    @SuppressLint("SwitchIntDef")
+    private void saveOrientation() {
+        // Restored one is not applied yet
+        if (mRestorePending || mRestoreDeferred) {
+            return;
+        }
+
+        // Uninitialized zero is okay
+        switch (mView.getResources().getConfiguration().orientation) {
+            case Configuration.ORIENTATION_PORTRAIT:
+                mPortraitOrientation.x = mView.getTranslationX();
+                mPortraitOrientation.y = mView.getTranslationY();
+                break;
+            case Configuration.ORIENTATION_LANDSCAPE:
+                mLandscapeOrientation.x = mView.getTranslationX();
+                mLandscapeOrientation.y = mView.getTranslationY();
+                break;
+        }
+    }
+
+    /**
+     * Apply the translation kept for this orientation.
+     */
+    @SuppressLint("SwitchIntDef")
+    private void restoreOrientation() {
+        // Uninitialized zero is okay
+        switch (mView.getResources().getConfiguration().orientation) {
+            case Configuration.ORIENTATION_PORTRAIT:
+                restoreTranslation(mPortraitOrientation.x, mPortraitOrientation.y);
+                break;
+            case Configuration.ORIENTATION_LANDSCAPE:
+                restoreTranslation(mLandscapeOrientation.x, mLandscapeOrientation.y);
+                break;
+        }
+    }
+
+    /**
+     * Apply a restored translation just before the next frame is drawn. The parent may not have been
+     * laid out for its new size yet, so the translation is clamped to the bounds at that point. The
+     * view is not moved before then, which avoids both a jump frame and an extra layout pass.
+     *
+     * @param translationX The X translation.
+     * @param translationY The Y translation.
+     */
+    private void restoreTranslation(float translationX, float translationY) {
+        mRestoreX = translationX;
+        mRestoreY = translationY;
+        mRestoreDeferred = false;
+
+        if (!mRestorePending) {
+            mRestorePending = true;
+            mRestoreObserver = mView.getViewTreeObserver();
+            mRestoreObserver.addOnPreDrawListener(this);
+
+            // Make sure there is a next frame
+            mView.invalidate();
+        }
+    }
+
+    /**
+     * Remove the pre-draw listener of a pending restore from the observer it was added to. An
+     * observer taken before the view was attached is merged into the window one on attach, which
+     * is then the current one of the view.
+     */
+    private void removeRestoreListener() {
+        ViewTreeObserver observer = mRestoreObserver.isAlive() ? mRestoreObserver : mView.getViewTreeObserver();
+
+        observer.removeOnPreDrawListener(this);
+        mRestoreObserver = null;
+        mRestorePending = false;
+    }
+
+    /**
+     * Invalidate the movement bounds and clamp the view to the new ones before the next frame. A
+     * pending restore is clamped anyway, and a gesture or settle in progress picks up the bounds
+     * on its own.
+     */
+    private void reclamp() {
+        mBounds.invalidate();
+
+        if (!mRestorePending && !mTouching && !mSettleAnimator.isRunning()) {
+            restoreTranslation(mView.getTranslationX(), mView.getTranslationY());
+        }
+    }
+
+    /**
+     * Save the default alpha, movement bounds and initial touch coordinates for the view.
+     *
+     * @param event MotionEvent object.
+     */
+    private void actionDown(@NonNull MotionEvent event) {
+        // Catch the view mid fling and keep where it stopped
+        if (mSettleAnimator.isRunning()) {
+            mSettleAnimator.cancel();
+            storePosition();
+        }
+
+        mDefaultAlpha = mView.getAlpha();
+        mMoving = false;
+        mTouching = true;
+        mResolvingSettle = false;
+
+        // Deliver samples as they arrive instead of once per frame
+        if (mLowLatency && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            mView.requestUnbufferedDispatch(event);
+        }
+
+        mDragMetrics.reset();
+        mAppliedAtDown = mFrameMover.getAppliedCount();
+        mCoalescedAtDown = mFrameMover.getCoalescedCount();
+
+        // Resolved once per gesture
+        updateBounds();
+
+        mStartX = event.getRawX();
+        mStartY = event.getRawY();
+
+        mDx = mView.getX() - mStartX;
+        mDy = mView.getY() - mStartY;
+
+        if (mPredictMotion) {
+            mMotionPredictor.reset();
+            mMotionPredictor.addSample(event.getEventTime(), mStartX, mStartY);
+        }
+
+        if (mFling) {
+            if (mVelocityTracker == null) {
+                mVelocityTracker = VelocityTracker.obtain();
+            }
+
+            mVelocityTracker.clear();
+            addMovement(event);
+        }
+    }
+
+    /**
+     * Move the view to the given coordinates while staying within the bounds of the parent view.
+     *
+     * @param event MotionEvent object.
+     */
+    private void actionMove(@NonNull MotionEvent event) {
+        float x = event.getRawX();
+        float y = event.getRawY();
+
+        addMovement(event);
+
+        if (mPredictMotion) {
+            addPredictorSamples(event);
+        }
+
+        if (mMovable && (mMoving || Math.abs(mStartX - x) > mTouchSlop || Math.abs(mStartY - y) > mTouchSlop)) {
+            if (onMoveEvent(event)) {
+                // Set up once per drag
+                if (!mMoving) {
+                    beginDragRender();
+                }
+
+                // Lead the finger instead of trailing it
+                if (mPredictMotion && mMotionPredictor.predict(mSnapPoint)) {
+                    x = mSnapPoint[0];
+                    y = mSnapPoint[1];
+                }
+
+                moveTo(mDx + x, mDy + y);
+                mMoving = true;
+            } else {
+                mDragMetrics.addRejected();
+            }
+        }
+    }
+
+    /**
+     * Move the view towards the given coordinates, keeping it inside the bounds, on the snap
+     * targets if snapping while moving, and clear of the rest of the group.
+     *
+     * @param x The X axis.
+     * @param y The Y axis.
+     */
+    private void moveTo(float x, float y) {
+        float boundX = getInsideParentX(x);
+        float boundY = getInsideParentY(y);
+
+        if (mSnapWhileMoving) {
+            mSnapIndex.snap(boundX, boundY, mSnapPoint);
+
+            boundX = mSnapPoint[0];
+            boundY = mSnapPoint[1];
+        }
+
+        // Keep clear of exclusions and the rest of the group
+        if (mBoundsProvider != null || mGroup != null) {
+            resolve(boundX, boundY, mSnapPoint);
+
+            boundX = mSnapPoint[0];
+            boundY = mSnapPoint[1];
+        }
+
+        // Update the view location
+        if (mCoalesceMoves || mLowLatency) {
+            mFrameMover.moveTo(boundX, boundY);
+        } else {
+            mView.setX(boundX);
+            mView.setY(boundY);
+            mDragMetrics.addPositionUpdates(1);
+        }
+
+        if (mDropTargets != null) {
+            setDropTarget(mDropTargets.findTarget(boundX + mView.getWidth() / 2f, boundY + mView.getHeight() / 2f));
+        }
+    }
+
+    /**
+     * Change the target under the dragged view, notifying the drop listener of the exit and enter.
+     * Nothing is reported while the view stays over the same target.
+     *
+     * @param target Id of the target, or {@link DropTargetRegistry#NO_TARGET}.
+     */
+    private void setDropTarget(int target) {
+        if (target == mDropTarget) {
+            return;
+        }
+
+        int previous = mDropTarget;
+        mDropTarget = target;
+
+        if (mOnDropListener != null) {
+            if (previous != DropTargetRegistry.NO_TARGET) {
+                mOnDropListener.onTargetExit(mView, previous);
+            }
+
+            if (target != DropTargetRegistry.NO_TARGET) {
+                mOnDropListener.onTargetEnter(mView, target);
+            }
+        }
+    }
+
+    /**
+     * Drop the view on the target under it. A drop that is not consumed is reported as an exit.
+     *
+     * @return True if the drop was consumed.
+     */
+    private boolean drop() {
+        int target = mDropTarget;
+        mDropTarget = DropTargetRegistry.NO_TARGET;
+
+        if (mOnDropListener == null) {
+            return false;
+        }
+
+        if (mOnDropListener.onDrop(mView, target)) {
+            return true;
+        }
+
+        mOnDropListener.onTargetExit(mView, target);
+
+        return false;
+    }
+
+    /**
+     * Feed the batched and current samples of the event to the motion predictor in raw screen
+     * coordinates. Historical samples are only available in local coordinates, but the view does
+     * not move within a batch, so they share the offset of the current sample.
+     *
+     * @param event MotionEvent object.
+     */
+    private void addPredictorSamples(@NonNull MotionEvent event) {
+        float offsetX = event.getRawX() - event.getX();
+        float offsetY = event.getRawY() - event.getY();
+
+        for (int i = 0; i < event.getHistorySize(); i++) {
+            mMotionPredictor.addSample(event.getHistoricalEventTime(i), event.getHistoricalX(i) + offsetX,
+                    event.getHistoricalY(i) + offsetY);
+        }
+
+        mMotionPredictor.addSample(event.getEventTime(), event.getRawX(), event.getRawY());
+    }
+
+    /**
+     * Restore the default alpha and abort the click if the view was moved. A view released over a
+     * drop target is offered to the drop listener first, and a consumed drop ends the gesture.
+     *
+     * @param event MotionEvent object.
+     */
+    private void actionUp(@NonNull MotionEvent event) {
+        // Take back any prediction that overshot
+        if (mMoving && mPredictMotion) {
+            moveTo(mDx + event.getRawX(), mDy + event.getRawY());
+        }
+
+        // Land on the last sample
+        mFrameMover.flush();
+
+        if (mMoving) {
+            endDragRender();
+
+            if (mDropTarget != DropTargetRegistry.NO_TARGET && drop()) {
+                // Eat the click
+                event.setAction(MotionEvent.ACTION_CANCEL);
+            } else if (onMoveEvent(event)) {
+                if (mMovable) {
+                    settle(event);
+                }
+
+                // Otherwise stored once it comes to rest
+                if (!mSettleAnimator.isRunning()) {
+                    storePosition();
+                }
+
+                // Eat the click
+                event.setAction(MotionEvent.ACTION_CANCEL);
+            } else {
+                mDragMetrics.addRejected();
+            }
+        }
+
+        mTouching = false;
+    }
+
+    /**
+     * Restore the view if the gesture was taken away from it mid drag.
+     */
+    private void actionCancel() {
+        mFrameMover.flush();
+
+        if (mMoving) {
+            endDragRender();
+        }
+
+        setDropTarget(DropTargetRegistry.NO_TARGET);
+        mTouching = false;
+    }
+
+    /**
+     * Apply the moving alpha and the drag render mode when the view starts moving. Nothing here is
+     * repeated for the rest of the drag, so a translucent view does not set up its offscreen
+     * rendering again on every move event.
+     */
+    private void beginDragRender() {
+        mView.setAlpha(mDefaultAlpha * mMovingAlpha);
+
+        // A layer set by someone else is left alone
+        if ((mDragRenderMode & RENDER_LAYER) != 0 && mView.getLayerType() == View.LAYER_TYPE_NONE) {
+            mView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+            mDragLayer = true;
+        }
+
+        if ((mDragRenderMode & RENDER_FLAT) != 0) {
+            mDefaultElevation = ViewCompat.getElevation(mView);
+            ViewCompat.setElevation(mView, 0);
+            mDragFlat = true;
+        }
+    }
+
+    /**
+     * Restore the alpha, layer and elevation changed by {@link #beginDragRender()}.
+     */
+    private void endDragRender() {
+        mView.setAlpha(mDefaultAlpha);
+
+        if (mDragLayer) {
+            mView.setLayerType(View.LAYER_TYPE_NONE, null);
+            mDragLayer = false;
+        }
+
+        if (mDragFlat) {
+            ViewCompat.setElevation(mView, mDefaultElevation);
+            mDragFlat = false;
+        }
+    }
+
+    /**
+     * Close the metrics for the gesture and report them to the listener.
+     *
+     * @param event MotionEvent object.
+     */
+    private void dispatchDragMetrics(@NonNull MotionEvent event) {
+        // Frame synced updates are counted by the mover
+        mDragMetrics.addPositionUpdates(mFrameMover.getAppliedCount() - mAppliedAtDown);
+        mDragMetrics.addCoalesced(mFrameMover.getCoalescedCount() - mCoalescedAtDown);
+        mDragMetrics.finish(event.getEventTime() - event.getDownTime(), mMoving);
+
+        mOnDragMetricsListener.onDragMetrics(mView, mDragMetrics);
+    }
+
+    /**
+     * Fling with the release velocity if it is fast enough, and spring to the nearest snap target
+     * if snapping. A fling is projected to where it would rest before picking the target.
+     *
+     * @param event MotionEvent object.
+     */
+    private void settle(@NonNull MotionEvent event) {
+        float velocityX = 0;
+        float velocityY = 0;
+
+        if (mFling && mVelocityTracker != null) {
+            addMovement(event);
+            mVelocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+
+            if (Math.abs(mVelocityTracker.getXVelocity()) > mMinFlingVelocity
+                    || Math.abs(mVelocityTracker.getYVelocity()) > mMinFlingVelocity) {
+                velocityX = mVelocityTracker.getXVelocity();
+                velocityY = mVelocityTracker.getYVelocity();
+            }
+        }
+
+        if (mSnapMode != SNAP_NONE) {
+            mSnapIndex.snap(getInsideParentX(SettlePhysics.project(mView.getX(), velocityX)),
+                    getInsideParentY(SettlePhysics.project(mView.getY(), velocityY)), mSnapPoint);
+
+            resolve(mSnapPoint[0], mSnapPoint[1], mSnapPoint);
+
+            mSettleAnimator.settleTo(mSnapPoint[0], mSnapPoint[1], velocityX, velocityY);
+        } else if (velocityX != 0 || velocityY != 0) {
+            mSettleAnimator.fling(velocityX, velocityY);
+        }
+    }
+
+    /**
+     * Move the given location out of any exclusion of the bounds provider, then clear of the rest
+     * of the group.
+     *
+     * @param x   The X axis.
+     * @param y   The Y axis.
+     * @param out Array receiving the resolved X and Y axes. May be the snap point.
+     * @return True if the location was changed.
+     */
+    private boolean resolve(float x, float y, float[] out) {
+        boolean changed = false;
+
+        out[0] = x;
+        out[1] = y;
+
+        if (mBoundsProvider != null) {
+            changed = mConstraints.constrain(x, y, out);
+        }
+
+        if (mGroup != null) {
+            changed |= mGroup.resolve(this, out[0], out[1], out);
+        }
+
+        return changed;
+    }
+
+    /**
+     * Called when a fling or snap comes to rest. A fling can end in an exclusion or on top of
+     * another view in the group, in which case the view springs clear of it once before the
+     * position is stored.
+     */
+    private void onSettled() {
+        if (!mResolvingSettle && resolve(mView.getX(), mView.getY(), mSnapPoint)) {
+            mResolvingSettle = true;
+            mSettleAnimator.settleTo(mSnapPoint[0], mSnapPoint[1], 0, 0);
+            return;
+        }
+
+        mResolvingSettle = false;
+        storePosition();
+    }
+
+    /**
+     * Add the event to the velocity tracker in raw screen coordinates. The view moves under the
+     * pointer, so the local coordinates would not produce a usable velocity.
+     *
+     * @param event MotionEvent object.
+     */
+    private void addMovement(@NonNull MotionEvent event) {
+        if (!mFling || mVelocityTracker == null) {
+            return;
+        }
+
+        float offsetX = event.getRawX() - event.getX();
+        float offsetY = event.getRawY() - event.getY();
+
+        event.offsetLocation(offsetX, offsetY);
+        mVelocityTracker.addMovement(event);
+        event.offsetLocation(-offsetX, -offsetY);
+    }
+
+    /**
+     * Build the key used for this view in the position store. Only views with an id from the
+     * resources have a key that is stable across restarts.
+     *
+     * @return Position key, or null if the view cannot be stored.
+     */
+    @Nullable
+    private String getPositionKey() {
+        int id = mView.getId();
+
+        if (id == View.NO_ID) {
+            return null;
+        }
+
+        try {
+            return mView.getResources().getResourceEntryName(id) + "/"
+                    + mView.getResources().getConfiguration().orientation;
+        } catch (Resources.NotFoundException e) {
+            // Generated ids change between runs
+            return null;
+        }
+    }
+
+    /**
+     * Apply the translation kept in the position store, if any.
+     */
+    private void restoreStoredPosition() {
+        String key = getPositionKey();
+
+        if (key != null && mPositionStore.get(key, mStoredPosition)) {
+            restoreTranslation(mStoredPosition.x, mStoredPosition.y);
+        }
+    }
+
+    /**
+     * Save the current translation to the position store, if any.
+     */
+    private void storePosition() {
+        if (mPositionStore == null) {
+            return;
+        }
+
+        String key = getPositionKey();
+
+        if (key != null) {
+            mPositionStore.put(key, mView.getTranslationX(), mView.getTranslationY());
+        }
+    }
+
+    /**
+     * Update the onMove listener with the current MotionEvent. This event can fire even if the view
+     * was not further displaced.
+     *
+     * @param event MotionEvent object.
+     * @return True if event is successful.
+     */
+    public boolean onMoveEvent(@NonNull MotionEvent event) {
+        if (mOnMoveListener != null) {
+            return mOnMoveListener.onMove(mView, event);
+        }
+
+        return true;
+    }
+
+    /**
+     * Adjust the given X coordinate so it remains inside the bounds of the parent view.
+     *
+     * @param x The X Axis.
+     * @return Bound X axis.
+     */
+    protected float getInsideParentX(float x) {
+        if (!mBounds.isValid()) {
+            updateBounds();
+        }
+
+        return mBounds.clampX(x);
+    }
+
+    /**
+     * Adjust the given Y coordinate so it remains inside the bounds of the parent view.
+     *
+     * @param y The Y Axis.
+     * @return Bound Y axis.
+     */
+    protected float getInsideParentY(float y) {
+        if (!mBounds.isValid()) {
+            updateBounds();
+        }
+
+        return mBounds.clampY(y);
+    }
+
+    /**
+     * Resolve the movement bounds from the parent padding or the cached window insets, whichever
+     * is larger, and according to useMargins the layout margins. The insets are relative to the
+     * window, so only the part that overlaps the parent counts. The allowed rectangle of a bounds
+     * provider narrows the bounds further. This reads the layout parameters in place and does not
+     * allocate, and the provider is only asked for its constraints after it signals a change. The
+     * bounds stay invalid while the view has no parent.
+     */
+    private void updateBounds() {
+        View parent = (View) mView.getParent();
+
+        // Nothing to move within
+        if (parent == null) {
+            return;
+        }
+
+        if (mBoundsProvider != null && !mConstraintsValid) {
+            mConstraints.clear();
+            mBoundsProvider.onBuildConstraints(mView, mConstraints);
+            mConstraintsValid = true;
+        }
+
+        int left = parent.getPaddingLeft();
+        int top = parent.getPaddingTop();
+        int right = parent.getPaddingRight();
+        int bottom = parent.getPaddingBottom();
+
+        if (mHasInsets) {
+            View root = mView.getRootView();
+            parent.getLocationInWindow(mLocation);
+
+            left = Math.max(left, mInsets.left - mLocation[0]);
+            top = Math.max(top, mInsets.top - mLocation[1]);
+            right = Math.max(right, mInsets.right - (root.getWidth() - mLocation[0] - parent.getWidth()));
+            bottom = Math.max(bottom, mInsets.bottom - (root.getHeight() - mLocation[1] - parent.getHeight()));
+        }
+
+        if (mUseMargins && mView.getLayoutParams() instanceof ViewGroup.MarginLayoutParams) {
+            ViewGroup.MarginLayoutParams lp = (ViewGroup.MarginLayoutParams) mView.getLayoutParams();
+
+            left += lp.leftMargin;
+            top += lp.topMargin;
+            right += lp.rightMargin;
+            bottom += lp.bottomMargin;
+        }
+
+        if (mBoundsProvider != null) {
+            left = Math.max(left, (int) Math.ceil(mConstraints.getAllowedLeft()));
+            top = Math.max(top, (int) Math.ceil(mConstraints.getAllowedTop()));
+            right = Math.max(right, (int) Math.ceil(parent.getWidth() - mConstraints.getAllowedRight()));
+            bottom = Math.max(bottom, (int) Math.ceil(parent.getHeight() - mConstraints.getAllowedBottom()));
+        }
+
+        if (mBounds.set(parent.getWidth(), parent.getHeight(), left, top, right, bottom,
+                mView.getWidth(), mView.getHeight())) {
+            updateSnapIndex();
+        }
+
+        if (mBoundsProvider != null) {
+            mConstraints.resolve(mBounds, mView.getWidth(), mView.getHeight());
+        }
+    }
+
+    /**
+     * Rebuild the snap targets from the current movement bounds and snap settings.
+     */
+    private void updateSnapIndex() {
+        mSnapIndex.build(mSnapMode, mBounds.getMinX(), mBounds.getMinY(), mBounds.getMaxX(), mBounds.getMaxY(),
+                mSnapGridSize);
+    }
+
+    /**
+     * Check the movable status. Note that views that are not clickable are also not movable.
+     *
+     * @return True if moving is enabled.
+     */
+    public boolean isMovable() {
+        return mMovable;
+    }
+
+    /**
+     * Set the movable status. Note that views that are not clickable are also not movable.
+     *
+     * @param movable True if moving is enabled.
+     */
+    public void setMovable(boolean movable) {
+        mMovable = movable;
+    }
+
+    /**
+     * Get the multiplier used for moving. This value ranges from 0 for completely transparent to 1.
+     *
+     * @return The alpha multiplier.
+     */
+    public float getMovingAlpha() {
+        return mMovingAlpha;
+    }
+
+    /**
+     * Set the multiplier used for moving. This value ranges from 0 for completely transparent to 1.
+     *
+     * @param movingAlpha The alpha multiplier.
+     */
+    public void setMovingAlpha(float movingAlpha) {
+        mMovingAlpha = movingAlpha;
+    }
+
+    /**
+     * Check if the view should observe its layout margins when moving within the parent.
+     *
+     * @return True if using margins.
+     */
+    public boolean canUseMargins() {
+        return mUseMargins;
+    }
+
+    /**
+     * Set if the view should observe its layout margins when moving within the parent.
+     *
+     * @param useMargins True if using margins.
+     */
+    public void setUseMargins(boolean useMargins) {
+        mUseMargins = useMargins;
+        mBounds.invalidate();
+    }
+
+    /**
+     * Check if touch samples are coalesced so the view moves at most once per display frame.
+     *
+     * @return True if coalescing moves.
+     */
+    public boolean canCoalesceMoves() {
+        return mCoalesceMoves;
+    }
+
+    /**
+     * Set if touch samples are coalesced so the view moves at most once per display frame. The
+     * latest sample received before the frame is the one applied.
+     *
+     * @param coalesceMoves True if coalescing moves.
+     */
+    public void setCoalesceMoves(boolean coalesceMoves) {
+        mCoalesceMoves = coalesceMoves;
+    }
+
+    /**
+     * Check if touch samples are delivered as soon as they arrive rather than batched to the
+     * display frame.
+     *
+     * @return True if low latency.
+     */
+    public boolean isLowLatency() {
+        return mLowLatency;
+    }
+
+    /**
+     * Set if touch samples are delivered as soon as they arrive rather than batched to the display
+     * frame. Unbuffered dispatch is requested at the start of every gesture on Android 11 and
+     * later, and the samples are applied once per frame as if coalescing moves. Earlier versions
+     * keep the batched input and only get the frame synced updates.
+     *
+     * @param lowLatency True if low latency.
+     */
+    public void setLowLatency(boolean lowLatency) {
+        mLowLatency = lowLatency;
+    }
+
+    /**
+     * Get the number of touch samples that were superseded by a later sample in the same frame.
+     * This only counts while coalescing moves or in low latency mode.
+     *
+     * @return Coalesced sample count.
+     */
+    public int getCoalescedMoveCount() {
+        return mFrameMover.getCoalescedCount();
+    }
+
+    /**
+     * Check if the view keeps moving with its release velocity after a drag.
+     *
+     * @return True if flinging is enabled.
+     */
+    public boolean canFling() {
+        return mFling;
+    }
+
+    /**
+     * Set if the view keeps moving with its release velocity after a drag. The fling slows down
+     * under friction and stops at the bounds of the parent view.
+     *
+     * @param fling True if flinging is enabled.
+     */
+    public void setFling(boolean fling) {
+        mFling = fling;
+    }
+
+    /**
+     * Get the snap mode used when the view is released.
+     *
+     * @return One of {@link #SNAP_NONE}, {@link #SNAP_EDGES}, {@link #SNAP_CORNERS} or {@link #SNAP_GRID}.
+     */
+    public int getSnapMode() {
+        return mSnapMode;
+    }
+
+    /**
+     * Set the snap mode used when the view is released. The view springs to the nearest target
+     * inside the bounds of the parent view.
+     *
+     * @param snapMode One of {@link #SNAP_NONE}, {@link #SNAP_EDGES}, {@link #SNAP_CORNERS} or {@link #SNAP_GRID}.
+     */
+    public void setSnapMode(int snapMode) {
+        mSnapMode = snapMode;
+        updateSnapIndex();
+    }
+
+    /**
+     * Get the spacing between grid lines used by grid snapping.
+     *
+     * @return Grid size in pixels.
+     */
+    public float getSnapGridSize() {
+        return mSnapGridSize;
+    }
+
+    /**
+     * Set the spacing between grid lines used by grid snapping.
+     *
+     * @param snapGridSize Grid size in pixels.
+     */
+    public void setSnapGridSize(float snapGridSize) {
+        mSnapGridSize = snapGridSize;
+        updateSnapIndex();
+    }
+
+    /**
+     * Check if the view also snaps while it is being dragged.
+     *
+     * @return True if snapping while moving.
+     */
+    public boolean canSnapWhileMoving() {
+        return mSnapWhileMoving;
+    }
+
+    /**
+     * Set if the view also snaps while it is being dragged. This has no effect unless a snap mode
+     * is set.
+     *
+     * @param snapWhileMoving True if snapping while moving.
+     */
+    public void setSnapWhileMoving(boolean snapWhileMoving) {
+        mSnapWhileMoving = snapWhileMoving;
+    }
+
+    /**
+     * Get how the view is rendered while it is being dragged.
+     *
+     * @return {@link #RENDER_ALPHA}, or any of {@link #RENDER_LAYER} and {@link #RENDER_FLAT}.
+     */
+    public int getDragRenderMode() {
+        return mDragRenderMode;
+    }
+
+    /**
+     * Set how the view is rendered while it is being dragged. The moving alpha is always applied
+     * once when the drag starts. A layer can make the translucent view cheaper to draw, and a flat
+     * view has no shadow to draw. Everything is restored when the view is released.
+     *
+     * @param dragRenderMode {@link #RENDER_ALPHA}, or any of {@link #RENDER_LAYER} and {@link #RENDER_FLAT}.
+     */
+    public void setDragRenderMode(int dragRenderMode) {
+        mDragRenderMode = dragRenderMode;
+    }
+
+    /**
+     * Check if the view is moved to where the finger is predicted to be, rather than where it was
+     * last seen.
+     *
+     * @return True if predicting.
+     */
+    public boolean canPredictMotion() {
+        return mPredictMotion;
+    }
+
+    /**
+     * Set if the view is moved to where the finger is predicted to be at the next frame. The
+     * prediction is made from the batched touch samples and is taken back when the view is
+     * released, so the view still lands under the finger.
+     *
+     * @param predictMotion True if predicting.
+     */
+    public void setPredictMotion(boolean predictMotion) {
+        mPredictMotion = predictMotion;
+    }
+
+    /**
+     * Get how far ahead the finger is predicted.
+     *
+     * @return Horizon in milliseconds.
+     */
+    public float getPredictionHorizon() {
+        return mMotionPredictor.getHorizon();
+    }
+
+    /**
+     * Set how far ahead the finger is predicted. The default is one frame at 60 Hz.
+     *
+     * @param predictionHorizon Horizon in milliseconds.
+     */
+    public void setPredictionHorizon(float predictionHorizon) {
+        mMotionPredictor.setHorizon(predictionHorizon);
+    }
+
+    /**
+     * Get the exponent applied to the confidence of a prediction.
+     *
+     * @return Confidence damping.
+     */
+    public float getPredictionDamping() {
+        return mMotionPredictor.getDamping();
+    }
+
+    /**
+     * Set the exponent applied to the confidence of a prediction. The confidence drops when the
+     * finger slows down or turns, and larger values pull those predictions back towards the last
+     * sample. Zero trusts every prediction in full.
+     *
+     * @param predictionDamping Confidence damping.
+     */
+    public void setPredictionDamping(float predictionDamping) {
+        mMotionPredictor.setDamping(predictionDamping);
+    }
+
+    /**
+     * Get the clock that applies frame synced moves and advances the settle animation.
+     *
+     * @return Frame clock.
+     */
+    @NonNull
+    public FrameClock getFrameClock() {
+        return mFrameClock;
+    }
+
+    /**
+     * Set the clock that applies frame synced moves and advances the settle animation. By default
+     * all views share one clock driven by the display, so every running animation is advanced from
+     * a single callback per frame. A pending move is applied and a running settle is stopped.
+     *
+     * @param frameClock Frame clock.
+     */
+    public void setFrameClock(@NonNull FrameClock frameClock) {
+        mFrameClock = frameClock;
+        mFrameMover.setFrameClock(frameClock);
+        mSettleAnimator.setFrameClock(frameClock);
+    }
+
+    /**
+     * Get the move listener for this instance. The interface is used to notify the client of any
+     * touch initiated changes.
+     *
+     * @return Move notification listener.
+     */
+    @Nullable
+    public OnMoveListener getOnMoveListener() {
+        return mOnMoveListener;
+    }
+
+    /**
+     * Set the move listener for this instance. The interface is used to notify the client of any
+     * touch initiated changes.
+     *
+     * @param onMoveListener Move notification listener.
+     */
+    public void setOnMoveListener(@Nullable OnMoveListener onMoveListener) {
+        mOnMoveListener = onMoveListener;
+    }
+
+    /**
+     * Get the group keeping this view from overlapping other views.
+     *
+     * @return Movable group.
+     */
+    @Nullable
+    public MovableGroup getGroup() {
+        return mGroup;
+    }
+
+    /**
+     * Set the group of this view. This is called by {@link MovableGroup}.
+     *
+     * @param group Movable group.
+     * @param id    Id of the view in the group.
+     */
+    void setGroup(@Nullable MovableGroup group, int id) {
+        mGroup = group;
+        mGroupId = id;
+    }
+
+    /**
+     * Get the id of this view in its group.
+     *
+     * @return Group id.
+     */
+    int getGroupId() {
+        return mGroupId;
+    }
+
+    /**
+     * Get the provider of the allowed region and exclusion zones of the view.
+     *
+     * @return Bounds provider.
+     */
+    @Nullable
+    public BoundsProvider getBoundsProvider() {
+        return mBoundsProvider;
+    }
+
+    /**
+     * Set the provider of the allowed region and exclusion zones of the view. The view is moved
+     * clear of them before the next frame, and again whenever the provider signals a change. The
+     * provider only holds on to the view while it is attached to a window.
+     *
+     * @param boundsProvider Bounds provider.
+     */
+    public void setBoundsProvider(@Nullable BoundsProvider boundsProvider) {
+        if (mBoundsProvider != null) {
+            mBoundsProvider.unregister(this);
+        }
+
+        mBoundsProvider = boundsProvider;
+
+        // Registered once attached otherwise
+        if (boundsProvider != null && ViewCompat.isAttachedToWindow(mView)) {
+            boundsProvider.register(this);
+        }
+
+        invalidateConstraints();
+    }
+
+    /**
+     * Called by the bounds provider when the constraints have changed.
+     */
+    void invalidateConstraints() {
+        mConstraintsValid = false;
+        reclamp();
+    }
+
+    /**
+     * Get the drop targets the view can be dragged onto.
+     *
+     * @return Drop target registry.
+     */
+    @Nullable
+    public DropTargetRegistry getDropTargets() {
+        return mDropTargets;
+    }
+
+    /**
+     * Set the drop targets the view can be dragged onto. The registry can be shared with other
+     * views in the same parent. Changing it mid drag reports an exit from the current target.
+     *
+     * @param dropTargets Drop target registry.
+     */
+    public void setDropTargets(@Nullable DropTargetRegistry dropTargets) {
+        setDropTarget(DropTargetRegistry.NO_TARGET);
+        mDropTargets = dropTargets;
+    }
+
+    /**
+     * Get the drop listener for this instance. The interface is used to notify the client when the
+     * view is dragged over and dropped on its drop targets.
+     *
+     * @return Drop listener.
+     */
+    @Nullable
+    public OnDropListener getOnDropListener() {
+        return mOnDropListener;
+    }
+
+    /**
+     * Set the drop listener for this instance. The interface is used to notify the client when the
+     * view is dragged over and dropped on its drop targets.
+     *
+     * @param onDropListener Drop listener.
+     */
+    public void setOnDropListener(@Nullable OnDropListener onDropListener) {
+        mOnDropListener = onDropListener;
+    }
+
+    /**
+     * Get the store used to keep the position of the view across restarts.
+     *
+     * @return Position store.
+     */
+    @Nullable
+    public PositionStore getPositionStore() {
+        return mPositionStore;
+    }
+
+    /**
+     * Set the store used to keep the position of the view across restarts. A stored position for
+     * the view id and orientation is applied before the next frame. Views without an id are not
+     * stored.
+     *
+     * @param positionStore Position store.
+     */
+    public void setPositionStore(@Nullable PositionStore positionStore) {
+        mPositionStore = positionStore;
+
+        if (positionStore != null) {
+            restoreStoredPosition();
+        }
+    }
+
+    /**
+     * Get the metrics listener for this instance. The interface is used to report the cost of each
+     * touch gesture.
+     *
+     * @return Drag metrics listener.
+     */
+    @Nullable
+    public OnDragMetricsListener getOnDragMetricsListener() {
+        return mOnDragMetricsListener;
+    }
+
+    /**
+     * Set the metrics listener for this instance. The interface is used to report the cost of each
+     * touch gesture. Touch events are only timed while a listener is set.
+     *
+     * @param onDragMetricsListener Drag metrics listener.
+     */
+    public void setOnDragMetricsListener(@Nullable OnDragMetricsListener onDragMetricsListener) {
+        mOnDragMetricsListener = onDragMetricsListener;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Interface to report the cost of each touch gesture on a movable view. Collecting the metrics
+ * does not allocate.
+ */
+public interface OnDragMetricsListener {
+
+    /**
+     * Notification that a touch gesture has ended. The metrics object is reused for the next
+     * gesture and should not be kept.
+     *
+     * @param view    View that received the gesture.
+     * @param metrics Counters for the gesture.
+     */
+    void onDragMetrics(@NonNull View view, @NonNull DragMetrics metrics);
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Interface to notify the client when a dragged view moves over and is dropped on the targets of
+ * its {@link DropTargetRegistry}. Callbacks only fire when the target under the view changes, not
+ * on every move event. Every enter is followed by exactly one exit or drop.
+ */
+public interface OnDropListener {
+
+    /**
+     * Notification that the dragged view has moved over a target.
+     *
+     * @param view   View being dragged.
+     * @param target Id of the target.
+     */
+    void onTargetEnter(@NonNull View view, int target);
+
+    /**
+     * Notification that the dragged view has left a target, or the gesture was cancelled or not
+     * consumed while over it.
+     *
+     * @param view   View being dragged.
+     * @param target Id of the target.
+     */
+    void onTargetExit(@NonNull View view, int target);
+
+    /**
+     * Notification that the view was released over a target. A consumed drop ends the gesture
+     * there, so the view does not settle, snap or store its position, and does not click. The
+     * client can then remove or move the view itself.
+     *
+     * @param view   View that was dropped.
+     * @param target Id of the target.
+     * @return True if the drop is consumed.
+     */
+    boolean onDrop(@NonNull View view, int target);
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.graphics.PointF;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Interface to back a {@link PositionStore} with persistent storage. Positions are keyed by view
+ * and configuration and hold the translation of the view.
+ */
+public interface PositionStorage {
+
+    /**
+     * Read all stored positions. This is called once, on the main thread, the first time the store
+     * is used.
+     *
+     * @param positions Map to fill with the stored positions.
+     * @throws IOException If the storage could not be read.
+     */
+    void read(@NonNull Map<String, PointF> positions) throws IOException;
+
+    /**
+     * Replace the stored positions. This is called on a background thread with a copy that is not
+     * modified afterwards.
+     *
+     * @param positions All positions to store.
+     * @throws IOException If the storage could not be written.
+     */
+    void write(@NonNull Map<String, PointF> positions) throws IOException;
+}
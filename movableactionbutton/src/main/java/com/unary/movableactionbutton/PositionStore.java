@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.graphics.PointF;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps view positions across process death and app restarts. Lookups are served from an in-memory
+ * cache that is read from the {@link PositionStorage} the first time the store is used. Updates
+ * are debounced and written on a background thread, so a drag produces at most one write.
+ *
+ * <p>The store should only be used from the main thread.</p>
+ */
+public class PositionStore {
+
+    private static final String FILE_NAME = "movableactionbutton_positions";
+    private static final long WRITE_DELAY = 500; // ms
+
+    private static PositionStore sDefaultStore;
+
+    private final PositionStorage mStorage;
+    private final Executor mExecutor;
+    private final Map<String, PointF> mPositions;
+    private final Handler mHandler;
+    private final Runnable mWriteRunnable;
+    private boolean mLoaded;
+    private boolean mWritePending;
+
+    /**
+     * Create a store backed by the given storage.
+     *
+     * @param storage Persistent storage for the positions.
+     */
+    public PositionStore(@NonNull PositionStorage storage) {
+        this(storage, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Create a store backed by the given storage that writes with the given executor.
+     *
+     * @param storage  Persistent storage for the positions.
+     * @param executor Executor used for writing.
+     */
+    PositionStore(@NonNull PositionStorage storage, @NonNull Executor executor) {
+        mStorage = storage;
+        mExecutor = executor;
+        mPositions = new HashMap<>();
+        mHandler = new Handler(Looper.getMainLooper());
+        mWriteRunnable = new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        };
+    }
+
+    /**
+     * Get the shared store used by the widgets. It keeps its positions in a file in the private
+     * files directory of the app.
+     *
+     * @param context Context used to locate the file.
+     * @return Default position store.
+     */
+    @NonNull
+    public static synchronized PositionStore getDefault(@NonNull Context context) {
+        if (sDefaultStore == null) {
+            File file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+            sDefaultStore = new PositionStore(new FilePositionStorage(file));
+        }
+
+        return sDefaultStore;
+    }
+
+    /**
+     * Look up a stored position.
+     *
+     * @param key      Key of the position.
+     * @param position Point to receive the position.
+     * @return True if a position was found.
+     */
+    public boolean get(@NonNull String key, @NonNull PointF position) {
+        load();
+
+        PointF stored = mPositions.get(key);
+
+        if (stored == null) {
+            return false;
+        }
+
+        position.set(stored);
+
+        return true;
+    }
+
+    /**
+     * Store a position. The write happens shortly after the last update.
+     *
+     * @param key Key of the position.
+     * @param x   The X translation.
+     * @param y   The Y translation.
+     */
+    public void put(@NonNull String key, float x, float y) {
+        load();
+
+        PointF stored = mPositions.get(key);
+
+        if (stored == null) {
+            mPositions.put(key, new PointF(x, y));
+        } else if (stored.x != x || stored.y != y) {
+            stored.set(x, y);
+        } else {
+            return;
+        }
+
+        scheduleWrite();
+    }
+
+    /**
+     * Remove a stored position.
+     *
+     * @param key Key of the position.
+     */
+    public void remove(@NonNull String key) {
+        load();
+
+        if (mPositions.remove(key) != null) {
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Start any pending write now instead of waiting for the debounce delay.
+     */
+    public void flush() {
+        if (mWritePending) {
+            mHandler.removeCallbacks(mWriteRunnable);
+            write();
+        }
+    }
+
+    /**
+     * Fill the cache from storage the first time it is needed. The file is small, so this is done
+     * synchronously to have the positions before the first layout.
+     */
+    private void load() {
+        if (mLoaded) {
+            return;
+        }
+
+        mLoaded = true;
+
+        try {
+            mStorage.read(mPositions);
+        } catch (IOException e) {
+            // Start over with what was read
+        }
+    }
+
+    /**
+     * Restart the debounce delay for writing.
+     */
+    private void scheduleWrite() {
+        mWritePending = true;
+
+        mHandler.removeCallbacks(mWriteRunnable);
+        mHandler.postDelayed(mWriteRunnable, WRITE_DELAY);
+    }
+
+    /**
+     * Hand a copy of the positions to the executor for writing.
+     */
+    private void write() {
+        mWritePending = false;
+
+        final Map<String, PointF> positions = new HashMap<>(mPositions.size());
+
+        for (Map.Entry<String, PointF> entry : mPositions.entrySet()) {
+            positions.put(entry.getKey(), new PointF(entry.getValue().x, entry.getValue().y));
+        }
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    mStorage.write(positions);
+                } catch (IOException e) {
+                    // Kept in memory and retried on the next update
+                }
+            }
+        });
+    }
+}
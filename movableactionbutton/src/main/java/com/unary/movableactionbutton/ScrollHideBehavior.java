@@ -0,0 +1,395 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.view.ViewCompat;
+
+import com.unary.movableactionbutton.core.FrameClock;
+
+/**
+ * A behavior used by CoordinatorLayout to get a view out of the way while the content scrolls. The
+ * view slides below the bottom of the parent or shrinks away, and comes back where the user left
+ * it once scrolling stops.
+ *
+ * <p>Scrolling has to cover a minimum distance in one direction, or fling fast enough, before the
+ * view hides or shows. An animation that is already heading the right way is left alone, so a long
+ * list does not restart it on every nested scroll event. The animation is advanced by the frame
+ * clock shared with the movable buttons.</p>
+ *
+ * <p><strong>XML attributes</strong></p>
+ * <pre>
+ *   app:hideMode="enum" // One of "slide" or "shrink". Default is "slide"
+ * </pre>
+ *
+ * @param <V> View type parameter.
+ */
+public class ScrollHideBehavior<V extends View> extends CoordinatorLayout.Behavior<V>
+        implements FrameClock.FrameListener {
+
+    /**
+     * Slide the view below the bottom of the parent.
+     */
+    public static final int MODE_SLIDE = 1;
+
+    /**
+     * Shrink the view away where it is.
+     */
+    public static final int MODE_SHRINK = 2;
+
+    private static final int HIDE_MODE = MODE_SLIDE;
+    private static final float HIDE_DISTANCE = 32f; // dp
+    private static final float HIDE_VELOCITY = 1000f; // dp per second
+    private static final long SHOW_DELAY = 600; // ms
+    private static final long DURATION = 200000000L; // ns
+
+    private int mHideMode;
+    private final LayerPolicy mLayerPolicy;
+    private FrameClock mFrameClock;
+    private final Runnable mShowAction;
+    private V mChild;
+    private boolean mHidden;
+    private boolean mRunning;
+    private float mFraction;
+    private float mStartFraction;
+    private float mTargetFraction;
+    private long mStartNanos;
+    private long mDuration;
+    private float mScrollDistance;
+    private float mHideDistance;
+    private float mHideVelocity;
+    private int mHiddenMode;
+    private float mTranslationY;
+    private float mSlide;
+    private float mScaleX;
+    private float mScaleY;
+
+    /**
+     * Simple constructor to use when creating the behavior from code.
+     */
+    public ScrollHideBehavior() {
+        super();
+        mLayerPolicy = new LayerPolicy();
+        mHideMode = HIDE_MODE;
+        mFrameClock = ChoreographerFrameClock.getInstance();
+        mShowAction = createShowAction();
+    }
+
+    /**
+     * Constructor that is called when inflating the behavior from XML.
+     *
+     * @param context Context given for the behavior. This determines the resources and theme.
+     * @param attrs   The attributes for the inflated XML tag.
+     */
+    public ScrollHideBehavior(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        mLayerPolicy = new LayerPolicy(context, attrs);
+        mFrameClock = ChoreographerFrameClock.getInstance();
+        mShowAction = createShowAction();
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.ScrollHideBehavior);
+
+        try {
+            mHideMode = typedArray.getInt(R.styleable.ScrollHideBehavior_hideMode, HIDE_MODE);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    @Nullable
+    @Override
+    public Parcelable onSaveInstanceState(@NonNull CoordinatorLayout parent, @NonNull V child) {
+        if (mFraction != 0) {
+            reset(child);
+        }
+
+        return super.onSaveInstanceState(parent, child);
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull MotionEvent event) {
+        // Bring a partly hidden view back before it can be dragged
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN && mFraction != 0
+                && parent.isPointInChildBounds(child, (int) event.getX(), (int) event.getY())) {
+            reset(child);
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean onStartNestedScroll(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View directTargetChild,
+                                       @NonNull View target, int axes, int type) {
+        if ((axes & ViewCompat.SCROLL_AXIS_VERTICAL) == 0) {
+            return false;
+        }
+
+        // Thresholds need the display density
+        if (mChild != child) {
+            float density = child.getResources().getDisplayMetrics().density;
+
+            mChild = child;
+            mHideDistance = HIDE_DISTANCE * density;
+            mHideVelocity = HIDE_VELOCITY * density;
+        }
+
+        child.removeCallbacks(mShowAction);
+
+        return true;
+    }
+
+    @Override
+    public void onNestedScroll(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View target, int dxConsumed,
+                               int dyConsumed, int dxUnconsumed, int dyUnconsumed, int type, @NonNull int[] consumed) {
+        // Start over when the direction changes
+        if (dyConsumed > 0 && mScrollDistance < 0 || dyConsumed < 0 && mScrollDistance > 0) {
+            mScrollDistance = 0;
+        }
+
+        mScrollDistance += dyConsumed;
+
+        if (mScrollDistance > mHideDistance) {
+            hide(parent, child);
+        } else if (mScrollDistance < -mHideDistance) {
+            show(child);
+        }
+    }
+
+    @Override
+    public boolean onNestedPreFling(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View target,
+                                    float velocityX, float velocityY) {
+        if (velocityY > mHideVelocity) {
+            hide(parent, child);
+        } else if (velocityY < -mHideVelocity) {
+            show(child);
+        }
+
+        return false;
+    }
+
+    @Override
+    public void onStopNestedScroll(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View target, int type) {
+        mScrollDistance = 0;
+
+        // A fling that follows starts its own nested scroll and cancels this
+        if (mHidden) {
+            child.postDelayed(mShowAction, SHOW_DELAY);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // First frame starts the clock
+        if (mStartNanos < 0) {
+            mStartNanos = frameTimeNanos;
+        }
+
+        float progress = mDuration > 0 ? Math.min(1f, (float) (frameTimeNanos - mStartNanos) / mDuration) : 1f;
+        float interpolated = (float) (Math.cos((progress + 1) * Math.PI) / 2 + 0.5);
+
+        apply(mChild, mStartFraction + (mTargetFraction - mStartFraction) * interpolated);
+
+        if (progress == 1f) {
+            stop();
+        }
+    }
+
+    /**
+     * Get the policy used to render the child while it is animated.
+     *
+     * @return Layer policy.
+     */
+    @NonNull
+    public LayerPolicy getLayerPolicy() {
+        return mLayerPolicy;
+    }
+
+    /**
+     * Get the clock that advances the hide and show animations.
+     *
+     * @return Frame clock.
+     */
+    @NonNull
+    public FrameClock getFrameClock() {
+        return mFrameClock;
+    }
+
+    /**
+     * Set the clock that advances the hide and show animations. A running animation is stopped
+     * where it is.
+     *
+     * @param frameClock Frame clock.
+     */
+    public void setFrameClock(@NonNull FrameClock frameClock) {
+        stop();
+        mFrameClock = frameClock;
+    }
+
+    /**
+     * Get how the view is hidden.
+     *
+     * @return Either {@link #MODE_SLIDE} or {@link #MODE_SHRINK}.
+     */
+    public int getHideMode() {
+        return mHideMode;
+    }
+
+    /**
+     * Set how the view is hidden. This takes effect the next time the view hides from fully shown,
+     * so a view that is hidden or on its way in or out finishes with the mode it started with.
+     *
+     * @param hideMode Either {@link #MODE_SLIDE} or {@link #MODE_SHRINK}.
+     */
+    public void setHideMode(int hideMode) {
+        mHideMode = hideMode;
+    }
+
+    /**
+     * Check if the view is hidden or on its way out.
+     *
+     * @return True if hidden.
+     */
+    public boolean isHidden() {
+        return mHidden;
+    }
+
+    /**
+     * Hide the view unless it is already hiding. The hide mode and the resting translation and
+     * scale are captured when a fully shown view starts to hide, so the position chosen by the user
+     * is kept and only the captured property is animated until the view is shown again.
+     *
+     * @param parent Parent of the child.
+     * @param child  Child view for this behavior.
+     */
+    private void hide(@NonNull CoordinatorLayout parent, @NonNull V child) {
+        if (mHidden) {
+            return;
+        }
+
+        if (mFraction == 0) {
+            mHiddenMode = mHideMode;
+            mTranslationY = child.getTranslationY();
+            mSlide = parent.getHeight() - child.getY();
+            mScaleX = child.getScaleX();
+            mScaleY = child.getScaleY();
+        }
+
+        mHidden = true;
+        animateTo(child, 1);
+    }
+
+    /**
+     * Show the view unless it is already showing.
+     *
+     * @param child Child view for this behavior.
+     */
+    private void show(@NonNull V child) {
+        child.removeCallbacks(mShowAction);
+
+        if (!mHidden) {
+            return;
+        }
+
+        mHidden = false;
+        animateTo(child, 0);
+    }
+
+    /**
+     * Animate from the current fraction to the given one, taking a share of the duration that
+     * matches the distance left.
+     *
+     * @param child    Child view for this behavior.
+     * @param fraction Zero for shown and one for hidden.
+     */
+    private void animateTo(@NonNull V child, float fraction) {
+        mLayerPolicy.begin(child);
+
+        mStartFraction = mFraction;
+        mTargetFraction = fraction;
+        mStartNanos = -1;
+        mDuration = (long) (DURATION * Math.abs(fraction - mFraction));
+
+        if (!mRunning) {
+            mRunning = true;
+            mFrameClock.add(this);
+        }
+    }
+
+    /**
+     * Stop the animation where it is and take the child off any layer it was put on.
+     */
+    private void stop() {
+        if (mRunning) {
+            mRunning = false;
+            mFrameClock.remove(this);
+            mLayerPolicy.end(mChild);
+        }
+    }
+
+    /**
+     * Stop any animation and put the child back where it rests.
+     *
+     * @param child Child view for this behavior.
+     */
+    private void reset(@NonNull V child) {
+        child.removeCallbacks(mShowAction);
+        stop();
+
+        mHidden = false;
+        apply(child, 0);
+    }
+
+    /**
+     * Set the child properties for the given fraction.
+     *
+     * @param child    Child view for this behavior.
+     * @param fraction Zero for shown and one for hidden.
+     */
+    private void apply(@NonNull V child, float fraction) {
+        mFraction = fraction;
+
+        if (mHiddenMode == MODE_SHRINK) {
+            child.setScaleX(mScaleX * (1 - fraction));
+            child.setScaleY(mScaleY * (1 - fraction));
+        } else {
+            child.setTranslationY(mTranslationY + mSlide * fraction);
+        }
+    }
+
+    /**
+     * Create the action posted to show the view once scrolling stops.
+     *
+     * @return Show action.
+     */
+    @NonNull
+    private Runnable createShowAction() {
+        return new Runnable() {
+            @Override
+            public void run() {
+                show(mChild);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.unary.movableactionbutton.core.FrameClock;
+import com.unary.movableactionbutton.core.MovementBounds;
+import com.unary.movableactionbutton.core.SettlePhysics;
+
+/**
+ * A frame driven animator that lets a released view coast to a stop under friction, or spring to
+ * a snap target, while staying inside its movement bounds. The motion itself is computed by
+ * {@link SettlePhysics}, so a running animation does not allocate.
+ */
+final class SettleAnimator implements FrameClock.FrameListener {
+
+    private static final float NANOS_PER_SECOND = 1e9f;
+
+    private final View mView;
+    private final SettlePhysics mPhysics;
+    private final Runnable mEndAction;
+    private FrameClock mFrameClock;
+    private long mLastFrameNanos;
+    private boolean mRunning;
+
+    /**
+     * Create a settle animator for the given view.
+     *
+     * @param view       View to be animated.
+     * @param bounds     Movement bounds of the view.
+     * @param frameClock Clock that advances the animation.
+     * @param endAction  Action run when the view comes to rest.
+     */
+    SettleAnimator(@NonNull View view, @NonNull MovementBounds bounds, @NonNull FrameClock frameClock,
+                   @Nullable Runnable endAction) {
+        mView = view;
+        mFrameClock = frameClock;
+        mPhysics = new SettlePhysics(bounds);
+        mEndAction = endAction;
+    }
+
+    /**
+     * Start a fling from the current view location. The velocity decays exponentially and an axis
+     * stops when it reaches the bounds.
+     *
+     * @param velocityX Initial X velocity in pixels per second.
+     * @param velocityY Initial Y velocity in pixels per second.
+     */
+    void fling(float velocityX, float velocityY) {
+        mPhysics.fling(mView.getX(), mView.getY(), velocityX, velocityY);
+        start();
+    }
+
+    /**
+     * Start a critically damped spring from the current view location to the given target. The
+     * initial velocity carries over from the release.
+     *
+     * @param x         Target X axis.
+     * @param y         Target Y axis.
+     * @param velocityX Initial X velocity in pixels per second.
+     * @param velocityY Initial Y velocity in pixels per second.
+     */
+    void settleTo(float x, float y, float velocityX, float velocityY) {
+        mPhysics.settleTo(mView.getX(), mView.getY(), x, y, velocityX, velocityY);
+        start();
+    }
+
+    /**
+     * Stop the animation where it is.
+     */
+    void cancel() {
+        if (mRunning) {
+            mFrameClock.remove(this);
+            mRunning = false;
+        }
+    }
+
+    /**
+     * Check if the animation is currently running.
+     *
+     * @return True if running.
+     */
+    boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Set the clock that advances the animation. Any running animation is stopped first.
+     *
+     * @param frameClock Frame clock.
+     */
+    void setFrameClock(@NonNull FrameClock frameClock) {
+        cancel();
+        mFrameClock = frameClock;
+    }
+
+    /**
+     * Reset the frame time and register for frames.
+     */
+    private void start() {
+        mLastFrameNanos = 0;
+
+        if (!mRunning) {
+            mRunning = true;
+            mFrameClock.add(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // First frame only sets the clock
+        float dt = mLastFrameNanos == 0 ? 0 : (frameTimeNanos - mLastFrameNanos) / NANOS_PER_SECOND;
+        mLastFrameNanos = frameTimeNanos;
+
+        boolean running = mPhysics.step(dt);
+
+        mView.setX(mPhysics.getX());
+        mView.setY(mPhysics.getY());
+
+        if (!running) {
+            mRunning = false;
+            mFrameClock.remove(this);
+
+            if (mEndAction != null) {
+                mEndAction.run();
+            }
+        }
+    }
+}
\ No newline at end of file
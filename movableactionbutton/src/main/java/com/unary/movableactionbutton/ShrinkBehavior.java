@@ -16,7 +16,6 @@
 package com.unary.movableactionbutton;
 
 import android.content.Context;
-import android.graphics.RectF;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.view.View;
@@ -26,6 +25,7 @@ import androidx.annotation.Nullable;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
 
 import com.google.android.material.snackbar.Snackbar;
+import com.unary.movableactionbutton.core.DodgeMath;
 
 /**
  * A behavior used by CoordinatorLayout to shrink an obstructing view out of the way of a Snackbar.
@@ -35,6 +35,7 @@ import com.google.android.material.snackbar.Snackbar;
 public class ShrinkBehavior<V extends View> extends CoordinatorLayout.Behavior<V> {
 
     private boolean mAnimate;
+    private final LayerPolicy mLayerPolicy;
     private float mScaleX;
     private float mScaleY;
 
@@ -43,6 +44,7 @@ public class ShrinkBehavior<V extends View> extends CoordinatorLayout.Behavior<V
      */
     public ShrinkBehavior() {
         super();
+        mLayerPolicy = new LayerPolicy();
     }
 
     /**
@@ -53,6 +55,7 @@ public class ShrinkBehavior<V extends View> extends CoordinatorLayout.Behavior<V
      */
     public ShrinkBehavior(Context context, AttributeSet attrs) {
         super(context, attrs);
+        mLayerPolicy = new LayerPolicy(context, attrs);
     }
 
     @Nullable
@@ -76,18 +79,19 @@ public class ShrinkBehavior<V extends View> extends CoordinatorLayout.Behavior<V
         CoordinatorLayout.LayoutParams lp = (CoordinatorLayout.LayoutParams) dependency.getLayoutParams();
 
         // Only animate if blocking
-        if (!mAnimate && getViewRectF(child).intersect(getViewRectF(dependency))) {
+        if (!mAnimate && intersects(child, dependency)) {
             mScaleX = child.getScaleX();
             mScaleY = child.getScaleY();
             mAnimate = true;
+            mLayerPolicy.begin(child);
 
             return false;
         }
 
         // Piggyback the animator
         if (mAnimate) {
-            child.setScaleX(mScaleX * (1 + dependency.getTranslationY()) / (dependency.getHeight() + lp.bottomMargin));
-            child.setScaleY(mScaleY * (1 + dependency.getTranslationY()) / (dependency.getHeight() + lp.bottomMargin));
+            child.setScaleX(DodgeMath.shrinkScale(mScaleX, dependency.getTranslationY(), dependency.getHeight(), lp.bottomMargin));
+            child.setScaleY(DodgeMath.shrinkScale(mScaleY, dependency.getTranslationY(), dependency.getHeight(), lp.bottomMargin));
         }
 
         return mAnimate;
@@ -97,20 +101,34 @@ public class ShrinkBehavior<V extends View> extends CoordinatorLayout.Behavior<V
     public void onDependentViewRemoved(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View dependency) {
         // Snackbar might get dismissed
         if (mAnimate) {
-            child.animate().scaleX(mScaleX).scaleY(mScaleY).setDuration(0).start();
+            child.setScaleX(mScaleX);
+            child.setScaleY(mScaleY);
         }
 
         mAnimate = false;
+        mLayerPolicy.end(child);
     }
 
     /**
-     * Utility method to find a view's rectangular coordinates relative to the parent view group.
+     * Get the policy used to render the child while it is animated.
      *
-     * @param view Child view.
-     * @return Location relative to parent.
+     * @return Layer policy.
      */
     @NonNull
-    private static RectF getViewRectF(@NonNull View view) {
-        return new RectF(view.getX(), view.getY(), view.getX() + view.getWidth(), view.getY() + view.getHeight());
+    public LayerPolicy getLayerPolicy() {
+        return mLayerPolicy;
+    }
+
+    /**
+     * Utility method to check if two views intersect relative to the parent view group. This reads
+     * the view coordinates directly instead of creating rectangles on every frame.
+     *
+     * @param view  Child view.
+     * @param other Other child view.
+     * @return True if intersecting.
+     */
+    private static boolean intersects(@NonNull View view, @NonNull View other) {
+        return DodgeMath.intersects(view.getX(), view.getY(), view.getX() + view.getWidth(), view.getY() + view.getHeight(),
+                other.getX(), other.getY(), other.getX() + other.getWidth(), other.getY() + other.getHeight());
     }
 }
\ No newline at end of file
@@ -16,7 +16,6 @@
 package com.unary.movableactionbutton;
 
 import android.content.Context;
-import android.graphics.RectF;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
@@ -27,6 +26,7 @@ import androidx.annotation.Nullable;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
 
 import com.google.android.material.snackbar.Snackbar;
+import com.unary.movableactionbutton.core.DodgeMath;
 
 /**
  * A behavior used by CoordinatorLayout to slide an obstructing view out of the way of a Snackbar.
@@ -36,6 +36,7 @@ import com.google.android.material.snackbar.Snackbar;
 public class SlideBehavior<V extends View> extends CoordinatorLayout.Behavior<V> {
 
     private boolean mAnimate;
+    private final LayerPolicy mLayerPolicy;
     private float mTranslationY;
     private int mPointerId;
     private float mOffsetX;
@@ -46,6 +47,7 @@ public class SlideBehavior<V extends View> extends CoordinatorLayout.Behavior<V>
      */
     public SlideBehavior() {
         super();
+        mLayerPolicy = new LayerPolicy();
     }
 
     /**
@@ -56,6 +58,7 @@ public class SlideBehavior<V extends View> extends CoordinatorLayout.Behavior<V>
      */
     public SlideBehavior(Context context, AttributeSet attrs) {
         super(context, attrs);
+        mLayerPolicy = new LayerPolicy(context, attrs);
     }
 
     @Nullable
@@ -118,6 +121,7 @@ public class SlideBehavior<V extends View> extends CoordinatorLayout.Behavior<V>
         // Abort out of the animation
         if (touched && (mOffsetX != child.getTranslationX() || mOffsetY != child.getTranslationY())) {
             mAnimate = false;
+            mLayerPolicy.end(child);
         }
     }
 
@@ -131,16 +135,18 @@ public class SlideBehavior<V extends View> extends CoordinatorLayout.Behavior<V>
         CoordinatorLayout.LayoutParams lp = (CoordinatorLayout.LayoutParams) dependency.getLayoutParams();
 
         // Only animate if blocking
-        if (!mAnimate && getViewRectF(child).intersect(getViewRectF(dependency))) {
+        if (!mAnimate && intersects(child, dependency)) {
             mTranslationY = child.getTranslationY();
             mAnimate = true;
+            mLayerPolicy.begin(child);
 
             return false;
         }
 
         // Piggyback the animator
         if (mAnimate) {
-            child.setTranslationY(1 + mTranslationY + dependency.getTranslationY() - dependency.getHeight() - lp.bottomMargin);
+            child.setTranslationY(DodgeMath.slideTranslation(mTranslationY, dependency.getTranslationY(),
+                    dependency.getHeight(), lp.bottomMargin));
         }
 
         return mAnimate;
@@ -150,20 +156,33 @@ public class SlideBehavior<V extends View> extends CoordinatorLayout.Behavior<V>
     public void onDependentViewRemoved(@NonNull CoordinatorLayout parent, @NonNull V child, @NonNull View dependency) {
         // Snackbar might get dismissed
         if (mAnimate) {
-            child.animate().translationY(mTranslationY).setDuration(0).start();
+            child.setTranslationY(mTranslationY);
         }
 
         mAnimate = false;
+        mLayerPolicy.end(child);
     }
 
     /**
-     * Utility method to find a view's rectangular coordinates relative to the parent view group.
+     * Get the policy used to render the child while it is animated.
      *
-     * @param view Child view.
-     * @return Location relative to parent.
+     * @return Layer policy.
      */
     @NonNull
-    private static RectF getViewRectF(@NonNull View view) {
-        return new RectF(view.getX(), view.getY(), view.getX() + view.getWidth(), view.getY() + view.getHeight());
+    public LayerPolicy getLayerPolicy() {
+        return mLayerPolicy;
+    }
+
+    /**
+     * Utility method to check if two views intersect relative to the parent view group. This reads
+     * the view coordinates directly instead of creating rectangles on every frame.
+     *
+     * @param view  Child view.
+     * @param other Other child view.
+     * @return True if intersecting.
+     */
+    private static boolean intersects(@NonNull View view, @NonNull View other) {
+        return DodgeMath.intersects(view.getX(), view.getY(), view.getX() + view.getWidth(), view.getY() + view.getHeight(),
+                other.getX(), other.getY(), other.getX() + other.getWidth(), other.getY() + other.getHeight());
     }
 }
\ No newline at end of file
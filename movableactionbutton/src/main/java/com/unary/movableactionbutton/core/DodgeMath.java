@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * Utility methods for the intersection test and offsets used by the behaviors to get out of the
+ * way of a dependency. Everything works on primitives so it can run on every animation frame.
+ */
+public final class DodgeMath {
+
+    private DodgeMath() {
+    }
+
+    /**
+     * Check if two rectangles intersect. Rectangles that only share an edge do not intersect.
+     *
+     * @param left        Left of the first rectangle.
+     * @param top         Top of the first rectangle.
+     * @param right       Right of the first rectangle.
+     * @param bottom      Bottom of the first rectangle.
+     * @param otherLeft   Left of the second rectangle.
+     * @param otherTop    Top of the second rectangle.
+     * @param otherRight  Right of the second rectangle.
+     * @param otherBottom Bottom of the second rectangle.
+     * @return True if intersecting.
+     */
+    public static boolean intersects(float left, float top, float right, float bottom,
+                                     float otherLeft, float otherTop, float otherRight, float otherBottom) {
+        return left < otherRight && otherLeft < right && top < otherBottom && otherTop < bottom;
+    }
+
+    /**
+     * Find the translation that keeps the child above a dependency sliding in from the bottom.
+     *
+     * @param translationY           Child translation before the dependency appeared.
+     * @param dependencyTranslationY Current translation of the dependency.
+     * @param dependencyHeight       Height of the dependency.
+     * @param bottomMargin           Bottom margin of the dependency.
+     * @return Child translation.
+     */
+    public static float slideTranslation(float translationY, float dependencyTranslationY, int dependencyHeight,
+                                         int bottomMargin) {
+        return 1 + translationY + dependencyTranslationY - dependencyHeight - bottomMargin;
+    }
+
+    /**
+     * Find the scale that shrinks the child as a dependency slides in from the bottom.
+     *
+     * @param scale                  Child scale before the dependency appeared.
+     * @param dependencyTranslationY Current translation of the dependency.
+     * @param dependencyHeight       Height of the dependency.
+     * @param bottomMargin           Bottom margin of the dependency.
+     * @return Child scale.
+     */
+    public static float shrinkScale(float scale, float dependencyTranslationY, int dependencyHeight, int bottomMargin) {
+        return scale * (1 + dependencyTranslationY) / (dependencyHeight + bottomMargin);
+    }
+
+    /**
+     * Find how far a dependency rises into the child from below. Only dependencies that overlap the
+     * child horizontally and start below its top count.
+     *
+     * @param left       Left of the child.
+     * @param top        Top of the child before dodging.
+     * @param right      Right of the child.
+     * @param bottom     Bottom of the child before dodging.
+     * @param otherLeft  Left of the dependency.
+     * @param otherTop   Top of the dependency.
+     * @param otherRight Right of the dependency.
+     * @return Overlap from the bottom, or zero.
+     */
+    public static float rise(float left, float top, float right, float bottom,
+                             float otherLeft, float otherTop, float otherRight) {
+        if (left >= otherRight || otherLeft >= right || otherTop <= top) {
+            return 0;
+        }
+
+        return Math.max(0, bottom - otherTop);
+    }
+
+    /**
+     * Find the scale that lifts the bottom of a child, scaled about its center, by the given rise.
+     *
+     * @param rise     Overlap from the bottom.
+     * @param height   Height of the child.
+     * @param minScale Smallest scale allowed.
+     * @return Child scale multiplier.
+     */
+    public static float dodgeScale(float rise, int height, float minScale) {
+        if (height <= 0) {
+            return 1;
+        }
+
+        return Math.min(1, Math.max(minScale, 1 - 2 * rise / height));
+    }
+
+    /**
+     * Find the slide still needed to clear the given rise after the child has been scaled.
+     *
+     * @param rise   Overlap from the bottom.
+     * @param height Height of the child.
+     * @param scale  Child scale multiplier.
+     * @return Upward slide, or zero.
+     */
+    public static float dodgeSlide(float rise, int height, float scale) {
+        return Math.max(0, rise - height * (1 - scale) / 2);
+    }
+}
\ No newline at end of file
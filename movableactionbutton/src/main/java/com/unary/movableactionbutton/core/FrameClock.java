@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * A clock that advances every registered animation from a single callback per frame. A listener
+ * stays registered, and keeps the clock asking for frames, until it removes itself. Listeners
+ * added while a frame is dispatched first run on the next frame. Listeners are kept in an array
+ * that only grows, so registering and dispatching do not allocate once it is large enough.
+ */
+public abstract class FrameClock {
+
+    /**
+     * Receives a callback for every frame while registered with a clock.
+     */
+    public interface FrameListener {
+
+        /**
+         * Called once per frame.
+         *
+         * @param frameTimeNanos Time the frame started, in nanoseconds.
+         */
+        void doFrame(long frameTimeNanos);
+    }
+
+    private static final int CAPACITY = 4;
+
+    private FrameListener[] mListeners;
+    private int mCount;
+    private boolean mDispatching;
+    private boolean mFrameRequested;
+    private long mFrameTimeNanos;
+    private int mFrameCount;
+
+    /**
+     * Create a clock with no listeners.
+     */
+    protected FrameClock() {
+        mListeners = new FrameListener[CAPACITY];
+    }
+
+    /**
+     * Register a listener for every frame from the next one on. Adding a listener that is already
+     * registered does nothing.
+     *
+     * @param listener Frame listener.
+     */
+    public final void add(FrameListener listener) {
+        if (contains(listener)) {
+            return;
+        }
+
+        boolean idle = getListenerCount() == 0;
+
+        if (mCount == mListeners.length) {
+            FrameListener[] listeners = new FrameListener[mCount * 2];
+            System.arraycopy(mListeners, 0, listeners, 0, mCount);
+            mListeners = listeners;
+        }
+
+        mListeners[mCount++] = listener;
+
+        // An idle clock asks again, in case its last frame was dropped
+        if (!mFrameRequested || idle) {
+            mFrameRequested = true;
+            requestFrame();
+        }
+    }
+
+    /**
+     * Unregister a listener. This is safe to call from within a frame callback.
+     *
+     * @param listener Frame listener.
+     */
+    public final void remove(FrameListener listener) {
+        for (int i = 0; i < mCount; i++) {
+            if (mListeners[i] == listener) {
+                mListeners[i] = null;
+                break;
+            }
+        }
+
+        // Compacted once the frame is done
+        if (!mDispatching) {
+            compact();
+        }
+    }
+
+    /**
+     * Check if a listener is registered.
+     *
+     * @param listener Frame listener.
+     * @return True if registered.
+     */
+    public final boolean contains(FrameListener listener) {
+        for (int i = 0; i < mCount; i++) {
+            if (mListeners[i] == listener) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the number of registered listeners.
+     *
+     * @return Listener count.
+     */
+    public final int getListenerCount() {
+        int count = 0;
+
+        for (int i = 0; i < mCount; i++) {
+            if (mListeners[i] != null) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the start time of the last frame that was dispatched.
+     *
+     * @return Frame time in nanoseconds.
+     */
+    public final long getFrameTimeNanos() {
+        return mFrameTimeNanos;
+    }
+
+    /**
+     * Get the number of frames dispatched so far.
+     *
+     * @return Frame count.
+     */
+    public final int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * Ask for {@link #dispatchFrame(long)} to be called once on the next frame. Asking again before
+     * the frame must not lead to a second dispatch.
+     */
+    protected abstract void requestFrame();
+
+    /**
+     * Check if a frame has been requested and not yet dispatched.
+     *
+     * @return True if a frame is requested.
+     */
+    protected final boolean isFrameRequested() {
+        return mFrameRequested;
+    }
+
+    /**
+     * Run all registered listeners for a frame, and request the next frame if any are left.
+     *
+     * @param frameTimeNanos Time the frame started, in nanoseconds.
+     */
+    protected final void dispatchFrame(long frameTimeNanos) {
+        mFrameRequested = false;
+        mFrameTimeNanos = frameTimeNanos;
+        mFrameCount++;
+
+        // Listeners added from here on wait for the next frame
+        int count = mCount;
+        mDispatching = true;
+
+        for (int i = 0; i < count; i++) {
+            FrameListener listener = mListeners[i];
+
+            if (listener != null) {
+                listener.doFrame(frameTimeNanos);
+            }
+        }
+
+        mDispatching = false;
+        compact();
+
+        if (mCount > 0 && !mFrameRequested) {
+            mFrameRequested = true;
+            requestFrame();
+        }
+    }
+
+    /**
+     * Close the gaps left by removed listeners, keeping the order.
+     */
+    private void compact() {
+        int count = 0;
+
+        for (int i = 0; i < mCount; i++) {
+            if (mListeners[i] != null) {
+                mListeners[count++] = mListeners[i];
+            }
+        }
+
+        for (int i = count; i < mCount; i++) {
+            mListeners[i] = null;
+        }
+
+        mCount = count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * A frame clock that only advances when told to. It stands in for the display clock on the JVM,
+ * so animation timing and the cost of a frame can be tested without a device.
+ */
+public final class ManualFrameClock extends FrameClock {
+
+    /**
+     * Frame interval of a 60 Hz display.
+     */
+    public static final long FRAME_NANOS = 16666667L;
+
+    private long mTimeNanos;
+
+    /**
+     * Advance by one frame interval and dispatch the frame if one was requested.
+     *
+     * @return True if a frame was dispatched.
+     */
+    public boolean advance() {
+        return advance(FRAME_NANOS);
+    }
+
+    /**
+     * Advance by the given time and dispatch the frame if one was requested.
+     *
+     * @param nanos Time to advance in nanoseconds.
+     * @return True if a frame was dispatched.
+     */
+    public boolean advance(long nanos) {
+        mTimeNanos += nanos;
+
+        if (!isFrameRequested()) {
+            return false;
+        }
+
+        dispatchFrame(mTimeNanos);
+
+        return true;
+    }
+
+    /**
+     * Advance one frame at a time until no more frames are requested.
+     *
+     * @param maxFrames Limit on the number of frames, in case an animation never ends.
+     * @return Number of frames dispatched.
+     */
+    public int advanceUntilIdle(int maxFrames) {
+        int frames = 0;
+
+        while (frames < maxFrames && advance()) {
+            frames++;
+        }
+
+        return frames;
+    }
+
+    /**
+     * Get the current time of the clock.
+     *
+     * @return Time in nanoseconds.
+     */
+    public long getTimeNanos() {
+        return mTimeNanos;
+    }
+
+    @Override
+    protected void requestFrame() {
+        // Frames only happen on advance
+    }
+}
\ No newline at end of file
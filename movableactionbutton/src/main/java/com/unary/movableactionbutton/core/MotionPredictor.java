@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * Extrapolates a pointer to where it will be a short time ahead, so a dragged view does not trail
+ * the finger by a frame. The velocity is fitted over the most recent samples and the prediction is
+ * scaled down when the newest movement disagrees with the fit, such as when the finger stops or
+ * turns. Samples are kept in primitive arrays so predicting does not allocate.
+ */
+public final class MotionPredictor {
+
+    private static final int CAPACITY = 8;
+    private static final long WINDOW = 50; // ms
+
+    private final long[] mTimes;
+    private final float[] mXs;
+    private final float[] mYs;
+    private int mHead;
+    private int mCount;
+    private float mHorizon;
+    private float mDamping;
+
+    /**
+     * Create a predictor for the given horizon and damping.
+     *
+     * @param horizon Time to look ahead in milliseconds.
+     * @param damping Exponent applied to the confidence of a prediction.
+     */
+    public MotionPredictor(float horizon, float damping) {
+        mTimes = new long[CAPACITY];
+        mXs = new float[CAPACITY];
+        mYs = new float[CAPACITY];
+        mHorizon = horizon;
+        mDamping = damping;
+    }
+
+    /**
+     * Forget all samples, such as at the start of a new gesture.
+     */
+    public void reset() {
+        mHead = 0;
+        mCount = 0;
+    }
+
+    /**
+     * Add a pointer sample. A sample with the same time as the newest one replaces it, and one
+     * that is older is ignored.
+     *
+     * @param time Sample time in milliseconds.
+     * @param x    The X axis.
+     * @param y    The Y axis.
+     */
+    public void addSample(long time, float x, float y) {
+        if (mCount > 0) {
+            long newest = mTimes[mHead];
+
+            if (time < newest) {
+                return;
+            } else if (time == newest) {
+                mXs[mHead] = x;
+                mYs[mHead] = y;
+                return;
+            }
+        }
+
+        mHead = (mHead + 1) % CAPACITY;
+        mTimes[mHead] = time;
+        mXs[mHead] = x;
+        mYs[mHead] = y;
+        mCount = Math.min(mCount + 1, CAPACITY);
+    }
+
+    /**
+     * Get the number of samples currently held.
+     *
+     * @return Sample count.
+     */
+    public int getSampleCount() {
+        return mCount;
+    }
+
+    /**
+     * Predict the pointer location one horizon after the newest sample. The newest sample itself
+     * is returned until there are enough samples to fit a velocity.
+     *
+     * @param out Array receiving the predicted X and Y axis.
+     * @return True if the location was extrapolated.
+     */
+    public boolean predict(float[] out) {
+        if (mCount == 0) {
+            return false;
+        }
+
+        out[0] = mXs[mHead];
+        out[1] = mYs[mHead];
+
+        if (mCount < 2 || mHorizon <= 0) {
+            return false;
+        }
+
+        // Least squares velocity over the window, newest sample first
+        long newest = mTimes[mHead];
+        int count = 0;
+        float sumT = 0;
+        float sumX = 0;
+        float sumY = 0;
+
+        for (int i = 0; i < mCount; i++) {
+            int index = (mHead - i + CAPACITY) % CAPACITY;
+
+            if (i >= 2 && newest - mTimes[index] > WINDOW) {
+                break;
+            }
+
+            sumT += mTimes[index] - newest;
+            sumX += mXs[index];
+            sumY += mYs[index];
+            count++;
+        }
+
+        float meanT = sumT / count;
+        float meanX = sumX / count;
+        float meanY = sumY / count;
+        float varT = 0;
+        float covX = 0;
+        float covY = 0;
+
+        for (int i = 0; i < count; i++) {
+            int index = (mHead - i + CAPACITY) % CAPACITY;
+            float t = mTimes[index] - newest - meanT;
+
+            varT += t * t;
+            covX += t * (mXs[index] - meanX);
+            covY += t * (mYs[index] - meanY);
+        }
+
+        float velocityX = covX / varT;
+        float velocityY = covY / varT;
+
+        // Newest segment against the fit
+        int previous = (mHead - 1 + CAPACITY) % CAPACITY;
+        float dt = newest - mTimes[previous];
+        float lastX = (mXs[mHead] - mXs[previous]) / dt;
+        float lastY = (mYs[mHead] - mYs[previous]) / dt;
+        float confidence = confidence(velocityX, velocityY, lastX, lastY);
+
+        if (confidence <= 0) {
+            return false;
+        }
+
+        float scale = mHorizon * (float) Math.pow(confidence, mDamping);
+
+        out[0] += velocityX * scale;
+        out[1] += velocityY * scale;
+
+        return true;
+    }
+
+    /**
+     * Measure how well two velocities agree, from 0 when they differ entirely or either is zero,
+     * to 1 when they are the same.
+     *
+     * @param velocityX Fitted X velocity.
+     * @param velocityY Fitted Y velocity.
+     * @param lastX     Newest X velocity.
+     * @param lastY     Newest Y velocity.
+     * @return Confidence between 0 and 1.
+     */
+    private static float confidence(float velocityX, float velocityY, float lastX, float lastY) {
+        float speed = (float) Math.hypot(velocityX, velocityY);
+        float lastSpeed = (float) Math.hypot(lastX, lastY);
+
+        if (speed == 0 || lastSpeed == 0) {
+            return 0;
+        }
+
+        float difference = (float) Math.hypot(velocityX - lastX, velocityY - lastY);
+
+        return Math.max(0, 1 - difference / (speed + lastSpeed));
+    }
+
+    /**
+     * Get the time the predictor looks ahead.
+     *
+     * @return Horizon in milliseconds.
+     */
+    public float getHorizon() {
+        return mHorizon;
+    }
+
+    /**
+     * Set the time the predictor looks ahead. A horizon of zero disables extrapolation.
+     *
+     * @param horizon Horizon in milliseconds.
+     */
+    public void setHorizon(float horizon) {
+        mHorizon = horizon;
+    }
+
+    /**
+     * Get the exponent applied to the confidence of a prediction.
+     *
+     * @return Confidence damping.
+     */
+    public float getDamping() {
+        return mDamping;
+    }
+
+    /**
+     * Set the exponent applied to the confidence of a prediction. Zero trusts every prediction in
+     * full, while larger values pull uncertain predictions back towards the newest sample.
+     *
+     * @param damping Confidence damping.
+     */
+    public void setDamping(float damping) {
+        mDamping = damping;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * A cached clamping rectangle for the top left corner of a moving view. The bounds are resolved
+ * once from the parent and layout parameters and then reused for every move event.
+ */
+public final class MovementBounds {
+
+    private float mMinX;
+    private float mMinY;
+    private float mMaxX;
+    private float mMaxY;
+    private boolean mValid;
+
+    /**
+     * Resolve the bounds from the parent size, the combined padding and margins, and the view size.
+     *
+     * @param parentWidth  Width of the parent view.
+     * @param parentHeight Height of the parent view.
+     * @param left         Combined left padding and margin.
+     * @param top          Combined top padding and margin.
+     * @param right        Combined right padding and margin.
+     * @param bottom       Combined bottom padding and margin.
+     * @param width        Width of the moving view.
+     * @param height       Height of the moving view.
+     * @return True if the bounds changed.
+     */
+    public boolean set(int parentWidth, int parentHeight, int left, int top, int right, int bottom,
+                       int width, int height) {
+        float minX = left;
+        float minY = top;
+        float maxX = parentWidth - right - width;
+        float maxY = parentHeight - bottom - height;
+
+        boolean changed = minX != mMinX || minY != mMinY || maxX != mMaxX || maxY != mMaxY;
+
+        mMinX = minX;
+        mMinY = minY;
+        mMaxX = maxX;
+        mMaxY = maxY;
+        mValid = true;
+
+        return changed;
+    }
+
+    /**
+     * Mark the bounds as stale. They must be set again before the next clamp.
+     */
+    public void invalidate() {
+        mValid = false;
+    }
+
+    /**
+     * Check if the bounds have been resolved since the last invalidation.
+     *
+     * @return True if valid.
+     */
+    public boolean isValid() {
+        return mValid;
+    }
+
+    /**
+     * Get the minimum X axis allowed.
+     *
+     * @return Minimum X axis.
+     */
+    public float getMinX() {
+        return mMinX;
+    }
+
+    /**
+     * Get the minimum Y axis allowed.
+     *
+     * @return Minimum Y axis.
+     */
+    public float getMinY() {
+        return mMinY;
+    }
+
+    /**
+     * Get the maximum X axis allowed.
+     *
+     * @return Maximum X axis.
+     */
+    public float getMaxX() {
+        return mMaxX;
+    }
+
+    /**
+     * Get the maximum Y axis allowed.
+     *
+     * @return Maximum Y axis.
+     */
+    public float getMaxY() {
+        return mMaxY;
+    }
+
+    /**
+     * Adjust the given X coordinate so it remains inside the bounds.
+     *
+     * @param x The X Axis.
+     * @return Bound X axis.
+     */
+    public float clampX(float x) {
+        return Math.min(Math.max(x, mMinX), mMaxX);
+    }
+
+    /**
+     * Adjust the given Y coordinate so it remains inside the bounds.
+     *
+     * @param y The Y Axis.
+     * @return Bound Y axis.
+     */
+    public float clampY(float y) {
+        return Math.min(Math.max(y, mMinY), mMaxY);
+    }
+}
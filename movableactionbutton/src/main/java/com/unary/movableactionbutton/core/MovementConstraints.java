@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * A set of movement constraints made of an allowed rectangle and any number of exclusion
+ * rectangles, all in parent coordinates. Once resolved against the movement bounds and the view
+ * size, each exclusion is kept as the range of view locations it forbids, so constraining a
+ * location is a few comparisons per exclusion and does not allocate.
+ */
+public final class MovementConstraints {
+
+    private static final int CAPACITY = 4;
+    private static final int MAX_ITERATIONS = 4;
+
+    private float mAllowedLeft;
+    private float mAllowedTop;
+    private float mAllowedRight;
+    private float mAllowedBottom;
+    private float[] mExclusions;
+    private int mCount;
+    private float[] mForbidden;
+    private float mMinX;
+    private float mMinY;
+    private float mMaxX;
+    private float mMaxY;
+
+    /**
+     * Create an empty constraint set that allows everything.
+     */
+    public MovementConstraints() {
+        mExclusions = new float[CAPACITY * 4];
+        mForbidden = new float[CAPACITY * 4];
+        clear();
+    }
+
+    /**
+     * Remove the allowed rectangle and all exclusions.
+     */
+    public void clear() {
+        mAllowedLeft = Float.NEGATIVE_INFINITY;
+        mAllowedTop = Float.NEGATIVE_INFINITY;
+        mAllowedRight = Float.POSITIVE_INFINITY;
+        mAllowedBottom = Float.POSITIVE_INFINITY;
+        mCount = 0;
+    }
+
+    /**
+     * Set the rectangle the view has to stay inside of.
+     *
+     * @param left   Left edge.
+     * @param top    Top edge.
+     * @param right  Right edge.
+     * @param bottom Bottom edge.
+     */
+    public void setAllowed(float left, float top, float right, float bottom) {
+        mAllowedLeft = left;
+        mAllowedTop = top;
+        mAllowedRight = right;
+        mAllowedBottom = bottom;
+    }
+
+    /**
+     * Add a rectangle the view must not overlap.
+     *
+     * @param left   Left edge.
+     * @param top    Top edge.
+     * @param right  Right edge.
+     * @param bottom Bottom edge.
+     */
+    public void addExclusion(float left, float top, float right, float bottom) {
+        if (mCount * 4 == mExclusions.length) {
+            float[] exclusions = new float[mExclusions.length * 2];
+            System.arraycopy(mExclusions, 0, exclusions, 0, mExclusions.length);
+            mExclusions = exclusions;
+            mForbidden = new float[exclusions.length];
+        }
+
+        int index = mCount * 4;
+
+        mExclusions[index] = left;
+        mExclusions[index + 1] = top;
+        mExclusions[index + 2] = right;
+        mExclusions[index + 3] = bottom;
+        mCount++;
+    }
+
+    /**
+     * Get the number of exclusion rectangles.
+     *
+     * @return Exclusion count.
+     */
+    public int getExclusionCount() {
+        return mCount;
+    }
+
+    /**
+     * Get the left edge of the allowed rectangle.
+     *
+     * @return Left edge, or negative infinity if there is none.
+     */
+    public float getAllowedLeft() {
+        return mAllowedLeft;
+    }
+
+    /**
+     * Get the top edge of the allowed rectangle.
+     *
+     * @return Top edge, or negative infinity if there is none.
+     */
+    public float getAllowedTop() {
+        return mAllowedTop;
+    }
+
+    /**
+     * Get the right edge of the allowed rectangle.
+     *
+     * @return Right edge, or positive infinity if there is none.
+     */
+    public float getAllowedRight() {
+        return mAllowedRight;
+    }
+
+    /**
+     * Get the bottom edge of the allowed rectangle.
+     *
+     * @return Bottom edge, or positive infinity if there is none.
+     */
+    public float getAllowedBottom() {
+        return mAllowedBottom;
+    }
+
+    /**
+     * Work out the locations forbidden by each exclusion for a view of the given size moving
+     * inside the given bounds. This needs to be repeated when either of them changes.
+     *
+     * @param bounds Movement bounds of the view.
+     * @param width  View width.
+     * @param height View height.
+     */
+    public void resolve(MovementBounds bounds, float width, float height) {
+        mMinX = bounds.getMinX();
+        mMinY = bounds.getMinY();
+        mMaxX = bounds.getMaxX();
+        mMaxY = bounds.getMaxY();
+
+        // Any location strictly inside overlaps the exclusion
+        for (int i = 0; i < mCount * 4; i += 4) {
+            mForbidden[i] = mExclusions[i] - width;
+            mForbidden[i + 1] = mExclusions[i + 1] - height;
+            mForbidden[i + 2] = mExclusions[i + 2];
+            mForbidden[i + 3] = mExclusions[i + 3];
+        }
+    }
+
+    /**
+     * Move the given view location out of any exclusion it overlaps, to the nearest edge that is
+     * still inside the bounds. This is repeated a few times for exclusions next to each other, and
+     * a location is never pushed back the way it came, so it cannot bounce between them. An
+     * exclusion with no way out inside the bounds is left as it is.
+     *
+     * @param x   The X axis.
+     * @param y   The Y axis.
+     * @param out Array receiving the constrained X and Y axes.
+     * @return True if the location was changed.
+     */
+    public boolean constrain(float x, float y, float[] out) {
+        float startX = x;
+        float startY = y;
+        int directionX = 0;
+        int directionY = 0;
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            boolean pushed = false;
+
+            for (int i = 0; i < mCount * 4; i += 4) {
+                float left = mForbidden[i];
+                float top = mForbidden[i + 1];
+                float right = mForbidden[i + 2];
+                float bottom = mForbidden[i + 3];
+
+                if (x <= left || x >= right || y <= top || y >= bottom) {
+                    continue;
+                }
+
+                // Nearest edge that stays inside the bounds
+                float best = Float.POSITIVE_INFINITY;
+                int side = -1;
+
+                if (directionX <= 0 && left >= mMinX && x - left < best) {
+                    best = x - left;
+                    side = 0;
+                }
+
+                if (directionX >= 0 && right <= mMaxX && right - x < best) {
+                    best = right - x;
+                    side = 2;
+                }
+
+                if (directionY <= 0 && top >= mMinY && y - top < best) {
+                    best = y - top;
+                    side = 1;
+                }
+
+                if (directionY >= 0 && bottom <= mMaxY && bottom - y < best) {
+                    side = 3;
+                }
+
+                if (side == 0 || side == 2) {
+                    x = mForbidden[i + side];
+                    directionX = side - 1;
+                    pushed = true;
+                } else if (side == 1 || side == 3) {
+                    y = mForbidden[i + side];
+                    directionY = side - 2;
+                    pushed = true;
+                }
+            }
+
+            if (!pushed) {
+                break;
+            }
+        }
+
+        out[0] = x;
+        out[1] = y;
+
+        return x != startX || y != startY;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * The physics used to settle a released view. A fling coasts to a stop under friction and a
+ * spring moves to a target, both staying inside the movement bounds. All state is primitive so
+ * stepping does not allocate.
+ */
+public final class SettlePhysics {
+
+    private static final float FRICTION = 4.2f;
+    private static final float MIN_VELOCITY = 20f;
+    private static final float SPRING_STIFFNESS = 400f;
+    private static final float SPRING_DAMPING = 2 * (float) Math.sqrt(SPRING_STIFFNESS);
+    private static final float MIN_DISTANCE = 0.5f;
+    private static final float MAX_TIME_STEP = 0.05f;
+
+    private final MovementBounds mBounds;
+    private float mX;
+    private float mY;
+    private float mVelocityX;
+    private float mVelocityY;
+    private float mTargetX;
+    private float mTargetY;
+    private boolean mSpring;
+
+    /**
+     * Create the physics for a view moving inside the given bounds.
+     *
+     * @param bounds Movement bounds of the view.
+     */
+    public SettlePhysics(MovementBounds bounds) {
+        mBounds = bounds;
+    }
+
+    /**
+     * Start a fling. The velocity decays exponentially and an axis stops when it reaches the bounds.
+     *
+     * @param x         Start X axis.
+     * @param y         Start Y axis.
+     * @param velocityX Initial X velocity in pixels per second.
+     * @param velocityY Initial Y velocity in pixels per second.
+     */
+    public void fling(float x, float y, float velocityX, float velocityY) {
+        mX = x;
+        mY = y;
+        mVelocityX = velocityX;
+        mVelocityY = velocityY;
+        mSpring = false;
+    }
+
+    /**
+     * Start a critically damped spring to the given target. The target is clamped to the bounds.
+     *
+     * @param x         Start X axis.
+     * @param y         Start Y axis.
+     * @param targetX   Target X axis.
+     * @param targetY   Target Y axis.
+     * @param velocityX Initial X velocity in pixels per second.
+     * @param velocityY Initial Y velocity in pixels per second.
+     */
+    public void settleTo(float x, float y, float targetX, float targetY, float velocityX, float velocityY) {
+        mX = x;
+        mY = y;
+        mTargetX = mBounds.clampX(targetX);
+        mTargetY = mBounds.clampY(targetY);
+        mVelocityX = velocityX;
+        mVelocityY = velocityY;
+        mSpring = true;
+    }
+
+    /**
+     * Find where a fling with the given velocity would come to rest, ignoring the bounds.
+     *
+     * @param position Start position.
+     * @param velocity Initial velocity in pixels per second.
+     * @return Resting position.
+     */
+    public static float project(float position, float velocity) {
+        return position + velocity / FRICTION;
+    }
+
+    /**
+     * Advance the motion by the given time step. Long steps are capped to keep the spring stable.
+     *
+     * @param dt Time step in seconds.
+     * @return True if still moving.
+     */
+    public boolean step(float dt) {
+        dt = Math.min(Math.max(dt, 0), MAX_TIME_STEP);
+
+        return mSpring ? stepSpring(dt) : stepFling(dt);
+    }
+
+    /**
+     * Get the current X axis.
+     *
+     * @return The X Axis.
+     */
+    public float getX() {
+        return mX;
+    }
+
+    /**
+     * Get the current Y axis.
+     *
+     * @return The Y Axis.
+     */
+    public float getY() {
+        return mY;
+    }
+
+    /**
+     * Advance the fling by the given time step.
+     *
+     * @param dt Time step in seconds.
+     * @return True if still moving.
+     */
+    private boolean stepFling(float dt) {
+        float decay = (float) Math.exp(-FRICTION * dt);
+        float travel = (1 - decay) / FRICTION;
+
+        float targetX = mX + mVelocityX * travel;
+        float targetY = mY + mVelocityY * travel;
+
+        mX = mBounds.clampX(targetX);
+        mY = mBounds.clampY(targetY);
+
+        // Stop any axis that hit the bounds
+        mVelocityX = mX == targetX ? mVelocityX * decay : 0;
+        mVelocityY = mY == targetY ? mVelocityY * decay : 0;
+
+        return Math.abs(mVelocityX) >= MIN_VELOCITY || Math.abs(mVelocityY) >= MIN_VELOCITY;
+    }
+
+    /**
+     * Advance the spring by the given time step using semi-implicit Euler integration.
+     *
+     * @param dt Time step in seconds.
+     * @return True if still moving.
+     */
+    private boolean stepSpring(float dt) {
+        mVelocityX += (SPRING_STIFFNESS * (mTargetX - mX) - SPRING_DAMPING * mVelocityX) * dt;
+        mVelocityY += (SPRING_STIFFNESS * (mTargetY - mY) - SPRING_DAMPING * mVelocityY) * dt;
+
+        mX = mBounds.clampX(mX + mVelocityX * dt);
+        mY = mBounds.clampY(mY + mVelocityY * dt);
+
+        if (Math.abs(mTargetX - mX) < MIN_DISTANCE && Math.abs(mTargetY - mY) < MIN_DISTANCE
+                && Math.abs(mVelocityX) < MIN_VELOCITY && Math.abs(mVelocityY) < MIN_VELOCITY) {
+            // Land exactly on target
+            mX = mTargetX;
+            mY = mTargetY;
+
+            return false;
+        }
+
+        return true;
+    }
+}
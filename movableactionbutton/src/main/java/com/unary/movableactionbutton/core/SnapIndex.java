@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+/**
+ * A precomputed index of snap targets for the top left corner of a moving view. Targets are kept
+ * as sorted primitive arrays for each axis, so finding the nearest one is a binary search and does
+ * not allocate. The arrays are only grown when the index is rebuilt.
+ */
+public final class SnapIndex {
+
+    public static final int MODE_NONE = 0;
+    public static final int MODE_EDGES = 1;
+    public static final int MODE_CORNERS = 2;
+    public static final int MODE_GRID = 3;
+
+    private int mMode;
+    private float[] mX = new float[2];
+    private float[] mY = new float[2];
+    private int mCountX;
+    private int mCountY;
+
+    /**
+     * Rebuild the snap targets for the given mode and movement bounds.
+     *
+     * @param mode     Snap mode.
+     * @param minX     Minimum X axis.
+     * @param minY     Minimum Y axis.
+     * @param maxX     Maximum X axis.
+     * @param maxY     Maximum Y axis.
+     * @param gridSize Spacing of grid lines. Only used with the grid mode.
+     */
+    public void build(int mode, float minX, float minY, float maxX, float maxY, float gridSize) {
+        mMode = mode;
+
+        if (mode == MODE_GRID && gridSize > 0) {
+            mX = ensureCapacity(mX, lineCount(minX, maxX, gridSize));
+            mY = ensureCapacity(mY, lineCount(minY, maxY, gridSize));
+            mCountX = fillLines(mX, minX, maxX, gridSize);
+            mCountY = fillLines(mY, minY, maxY, gridSize);
+        } else {
+            mCountX = fillLines(mX, minX, maxX, Float.MAX_VALUE);
+            mCountY = fillLines(mY, minY, maxY, Float.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Get the current snap mode.
+     *
+     * @return Snap mode.
+     */
+    public int getMode() {
+        return mMode;
+    }
+
+    /**
+     * Find the nearest snap target to the given coordinates. Edges only move the axis that is
+     * closest to an edge, while corners and grid move both axes.
+     *
+     * @param x   The X Axis.
+     * @param y   The Y Axis.
+     * @param out Array receiving the snapped X and Y axes.
+     */
+    public void snap(float x, float y, float[] out) {
+        out[0] = x;
+        out[1] = y;
+
+        if (mMode == MODE_NONE || mCountX == 0 || mCountY == 0) {
+            return;
+        }
+
+        float snapX = mX[nearest(mX, mCountX, x)];
+        float snapY = mY[nearest(mY, mCountY, y)];
+
+        if (mMode != MODE_EDGES) {
+            out[0] = snapX;
+            out[1] = snapY;
+        } else if (Math.abs(snapX - x) <= Math.abs(snapY - y)) {
+            out[0] = snapX;
+        } else {
+            out[1] = snapY;
+        }
+    }
+
+    /**
+     * Binary search for the index of the value nearest to the target.
+     *
+     * @param values Sorted values.
+     * @param count  Number of values in use.
+     * @param target Value to search for.
+     * @return Index of the nearest value.
+     */
+    public static int nearest(float[] values, int count, float target) {
+        int low = 0;
+        int high = count - 1;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (values[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // Compare with the lower neighbor
+        if (low > 0 && target - values[low - 1] <= values[low] - target) {
+            return low - 1;
+        }
+
+        return low;
+    }
+
+    /**
+     * Count the lines needed to cover the range, including both ends.
+     *
+     * @param min     Start of the range.
+     * @param max     End of the range.
+     * @param spacing Distance between lines.
+     * @return Line count.
+     */
+    private static int lineCount(float min, float max, float spacing) {
+        return max > min ? (int) ((max - min) / spacing) + 2 : 1;
+    }
+
+    /**
+     * Fill the array with evenly spaced lines from the minimum to the maximum. The maximum is always
+     * included as the last line.
+     *
+     * @param lines   Array receiving the lines.
+     * @param min     Start of the range.
+     * @param max     End of the range.
+     * @param spacing Distance between lines.
+     * @return Line count.
+     */
+    private static int fillLines(float[] lines, float min, float max, float spacing) {
+        int count = 0;
+
+        for (float line = min; line < max; line = min + count * spacing) {
+            lines[count++] = line;
+        }
+
+        lines[count++] = Math.max(min, max);
+
+        return count;
+    }
+
+    /**
+     * Return the given array if it is large enough, otherwise a new one of the requested size.
+     *
+     * @param array    Current array.
+     * @param capacity Required capacity.
+     * @return Array with enough capacity.
+     */
+    private static float[] ensureCapacity(float[] array, int capacity) {
+        return array.length >= capacity ? array : new float[capacity];
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the plane that indexes item rectangles by the cells they cover. Cells are
+ * hashed into a fixed number of buckets, so the grid needs no world size and a query only visits
+ * the buckets under the query rectangle. Items are identified by small non-negative ints.
+ *
+ * <p>All storage is kept in primitive arrays that only grow when an item id or cell coverage
+ * exceeds the current capacity. Moving items and querying do not allocate otherwise.</p>
+ */
+public final class SpatialGrid {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_BUCKETS = 16;
+
+    private float mCellSize;
+    private int[] mBuckets;
+    private int[] mEntryItem = new int[16];
+    private int[] mEntryNext = new int[16];
+    private int mEntryCount;
+    private int mFreeEntry = EMPTY;
+    private boolean[] mActive = new boolean[0];
+    private float[] mLeft = new float[0];
+    private float[] mTop = new float[0];
+    private float[] mRight = new float[0];
+    private float[] mBottom = new float[0];
+    private int[] mMinColumn = new int[0];
+    private int[] mMinRow = new int[0];
+    private int[] mMaxColumn = new int[0];
+    private int[] mMaxRow = new int[0];
+    private int[] mStamps = new int[0];
+    private int mStamp;
+    private int mSize;
+
+    /**
+     * Create an empty grid. The cell size should be about the size of a typical item, so each item
+     * covers only a few cells.
+     *
+     * @param cellSize Width and height of a cell.
+     */
+    public SpatialGrid(float cellSize) {
+        mCellSize = cellSize;
+        mBuckets = new int[MIN_BUCKETS];
+        Arrays.fill(mBuckets, EMPTY);
+    }
+
+    /**
+     * Get the width and height of a cell.
+     *
+     * @return Cell size.
+     */
+    public float getCellSize() {
+        return mCellSize;
+    }
+
+    /**
+     * Change the cell size and re-index all items.
+     *
+     * @param cellSize Width and height of a cell.
+     */
+    public void setCellSize(float cellSize) {
+        mCellSize = cellSize;
+        rehash(mBuckets.length);
+    }
+
+    /**
+     * Get the number of items in the grid.
+     *
+     * @return Item count.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Check if an item is in the grid.
+     *
+     * @param id Item id.
+     * @return True if present.
+     */
+    public boolean contains(int id) {
+        return id < mActive.length && mActive[id];
+    }
+
+    /**
+     * Add an item or move it to a new rectangle. The cells are only re-linked when the item covers
+     * different cells than before.
+     *
+     * @param id     Item id.
+     * @param left   Left edge.
+     * @param top    Top edge.
+     * @param right  Right edge.
+     * @param bottom Bottom edge.
+     */
+    public void put(int id, float left, float top, float right, float bottom) {
+        if (id >= mActive.length) {
+            grow(id + 1);
+        }
+
+        int minColumn = cell(left);
+        int minRow = cell(top);
+        int maxColumn = cell(right);
+        int maxRow = cell(bottom);
+
+        if (!mActive[id]) {
+            mActive[id] = true;
+            mSize++;
+
+            // Keep the buckets sparse
+            if (mSize * 2 > mBuckets.length) {
+                setRect(id, left, top, right, bottom, minColumn, minRow, maxColumn, maxRow);
+                rehash(mBuckets.length * 2);
+                return;
+            }
+
+            link(id, minColumn, minRow, maxColumn, maxRow);
+        } else if (minColumn != mMinColumn[id] || minRow != mMinRow[id]
+                || maxColumn != mMaxColumn[id] || maxRow != mMaxRow[id]) {
+            unlink(id);
+            link(id, minColumn, minRow, maxColumn, maxRow);
+        }
+
+        setRect(id, left, top, right, bottom, minColumn, minRow, maxColumn, maxRow);
+    }
+
+    /**
+     * Remove an item from the grid.
+     *
+     * @param id Item id.
+     */
+    public void remove(int id) {
+        if (contains(id)) {
+            unlink(id);
+
+            mActive[id] = false;
+            mSize--;
+        }
+    }
+
+    /**
+     * Find the items whose rectangles overlap the given one. Touching edges do not count as an
+     * overlap. Results past the length of the output array are dropped.
+     *
+     * @param left   Left edge.
+     * @param top    Top edge.
+     * @param right  Right edge.
+     * @param bottom Bottom edge.
+     * @param out    Array receiving the item ids.
+     * @return Number of ids written.
+     */
+    public int query(float left, float top, float right, float bottom, int[] out) {
+        int count = 0;
+        int minColumn = cell(left);
+        int maxColumn = cell(right);
+        int minRow = cell(top);
+        int maxRow = cell(bottom);
+
+        // Items can be linked from several cells
+        nextStamp();
+
+        for (int column = minColumn; column <= maxColumn; column++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int entry = mBuckets[bucket(column, row)]; entry != EMPTY; entry = mEntryNext[entry]) {
+                    int id = mEntryItem[entry];
+
+                    if (mStamps[id] == mStamp) {
+                        continue;
+                    }
+
+                    mStamps[id] = mStamp;
+
+                    if (left < mRight[id] && mLeft[id] < right && top < mBottom[id] && mTop[id] < bottom
+                            && count < out.length) {
+                        out[count++] = id;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the left edge of an item.
+     *
+     * @param id Item id.
+     * @return Left edge.
+     */
+    public float getLeft(int id) {
+        return mLeft[id];
+    }
+
+    /**
+     * Get the top edge of an item.
+     *
+     * @param id Item id.
+     * @return Top edge.
+     */
+    public float getTop(int id) {
+        return mTop[id];
+    }
+
+    /**
+     * Get the right edge of an item.
+     *
+     * @param id Item id.
+     * @return Right edge.
+     */
+    public float getRight(int id) {
+        return mRight[id];
+    }
+
+    /**
+     * Get the bottom edge of an item.
+     *
+     * @param id Item id.
+     * @return Bottom edge.
+     */
+    public float getBottom(int id) {
+        return mBottom[id];
+    }
+
+    /**
+     * Get the cell coordinate for a position.
+     *
+     * @param value Position on either axis.
+     * @return Cell coordinate.
+     */
+    private int cell(float value) {
+        return (int) Math.floor(value / mCellSize);
+    }
+
+    /**
+     * Hash a cell into a bucket.
+     *
+     * @param column Cell column.
+     * @param row    Cell row.
+     * @return Bucket index.
+     */
+    private int bucket(int column, int row) {
+        return ((column * 73856093) ^ (row * 19349663)) & (mBuckets.length - 1);
+    }
+
+    /**
+     * Store the rectangle and cell range of an item.
+     *
+     * @param id        Item id.
+     * @param left      Left edge.
+     * @param top       Top edge.
+     * @param right     Right edge.
+     * @param bottom    Bottom edge.
+     * @param minColumn First cell column.
+     * @param minRow    First cell row.
+     * @param maxColumn Last cell column.
+     * @param maxRow    Last cell row.
+     */
+    private void setRect(int id, float left, float top, float right, float bottom,
+                         int minColumn, int minRow, int maxColumn, int maxRow) {
+        mLeft[id] = left;
+        mTop[id] = top;
+        mRight[id] = right;
+        mBottom[id] = bottom;
+        mMinColumn[id] = minColumn;
+        mMinRow[id] = minRow;
+        mMaxColumn[id] = maxColumn;
+        mMaxRow[id] = maxRow;
+    }
+
+    /**
+     * Add an entry for the item to every cell in the range.
+     *
+     * @param id        Item id.
+     * @param minColumn First cell column.
+     * @param minRow    First cell row.
+     * @param maxColumn Last cell column.
+     * @param maxRow    Last cell row.
+     */
+    private void link(int id, int minColumn, int minRow, int maxColumn, int maxRow) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                int bucket = bucket(column, row);
+                int entry = obtainEntry();
+
+                mEntryItem[entry] = id;
+                mEntryNext[entry] = mBuckets[bucket];
+                mBuckets[bucket] = entry;
+            }
+        }
+    }
+
+    /**
+     * Remove every entry for the item from the buckets of its current cell range.
+     *
+     * @param id Item id.
+     */
+    private void unlink(int id) {
+        for (int column = mMinColumn[id]; column <= mMaxColumn[id]; column++) {
+            for (int row = mMinRow[id]; row <= mMaxRow[id]; row++) {
+                int bucket = bucket(column, row);
+                int previous = EMPTY;
+                int entry = mBuckets[bucket];
+
+                while (entry != EMPTY) {
+                    int next = mEntryNext[entry];
+
+                    if (mEntryItem[entry] == id) {
+                        if (previous == EMPTY) {
+                            mBuckets[bucket] = next;
+                        } else {
+                            mEntryNext[previous] = next;
+                        }
+
+                        recycleEntry(entry);
+                    } else {
+                        previous = entry;
+                    }
+
+                    entry = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Take an entry from the free list, or from the end of the pool.
+     *
+     * @return Entry index.
+     */
+    private int obtainEntry() {
+        if (mFreeEntry != EMPTY) {
+            int entry = mFreeEntry;
+            mFreeEntry = mEntryNext[entry];
+
+            return entry;
+        }
+
+        if (mEntryCount == mEntryItem.length) {
+            mEntryItem = Arrays.copyOf(mEntryItem, mEntryCount * 2);
+            mEntryNext = Arrays.copyOf(mEntryNext, mEntryCount * 2);
+        }
+
+        return mEntryCount++;
+    }
+
+    /**
+     * Return an entry to the free list.
+     *
+     * @param entry Entry index.
+     */
+    private void recycleEntry(int entry) {
+        mEntryNext[entry] = mFreeEntry;
+        mFreeEntry = entry;
+    }
+
+    /**
+     * Rebuild the buckets with the given count and re-link all items.
+     *
+     * @param bucketCount Power of two bucket count.
+     */
+    private void rehash(int bucketCount) {
+        mBuckets = new int[bucketCount];
+        Arrays.fill(mBuckets, EMPTY);
+
+        mEntryCount = 0;
+        mFreeEntry = EMPTY;
+
+        for (int id = 0; id < mActive.length; id++) {
+            if (mActive[id]) {
+                mMinColumn[id] = cell(mLeft[id]);
+                mMinRow[id] = cell(mTop[id]);
+                mMaxColumn[id] = cell(mRight[id]);
+                mMaxRow[id] = cell(mBottom[id]);
+
+                link(id, mMinColumn[id], mMinRow[id], mMaxColumn[id], mMaxRow[id]);
+            }
+        }
+    }
+
+    /**
+     * Grow the per item arrays to hold the given number of ids.
+     *
+     * @param capacity Minimum capacity.
+     */
+    private void grow(int capacity) {
+        int length = Math.max(capacity, mActive.length * 2);
+
+        mActive = Arrays.copyOf(mActive, length);
+        mLeft = Arrays.copyOf(mLeft, length);
+        mTop = Arrays.copyOf(mTop, length);
+        mRight = Arrays.copyOf(mRight, length);
+        mBottom = Arrays.copyOf(mBottom, length);
+        mMinColumn = Arrays.copyOf(mMinColumn, length);
+        mMinRow = Arrays.copyOf(mMinRow, length);
+        mMaxColumn = Arrays.copyOf(mMaxColumn, length);
+        mMaxRow = Arrays.copyOf(mMaxRow, length);
+        mStamps = Arrays.copyOf(mStamps, length);
+    }
+
+    /**
+     * Start a new query. Stamps are cleared when the counter wraps.
+     */
+    private void nextStamp() {
+        if (++mStamp == 0) {
+            Arrays.fill(mStamps, 0);
+            mStamp = 1;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.unary.movableactionbutton;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Test utility to read the bytes allocated by the current thread. Fixed one time overhead from
+ * the JVM is expected, so tests should compare against the number of operations instead of zero.
+ */
+public final class AllocationCounter {
+
+    private AllocationCounter() {
+    }
+
+    /**
+     * Get the total number of bytes allocated by the current thread so far.
+     *
+     * @return Allocated bytes.
+     */
+    public static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
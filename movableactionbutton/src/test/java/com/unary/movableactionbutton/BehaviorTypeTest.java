@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.ContextThemeWrapper;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the widgets create the behavior picked in XML, with its settings, and only when it
+ * is first asked for.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BehaviorTypeTest {
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+    }
+
+    @Test
+    public void default_isSlide() {
+        MovableActionButton button = new MovableActionButton(mContext);
+
+        assertTrue(button.getBehavior() instanceof SlideBehavior);
+        assertSame(button.getBehavior(), button.getBehavior());
+    }
+
+    @Test
+    public void dodge_keepsItsSettings() {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.behaviorType, "dodge")
+                .addAttribute(R.attr.dodgeMode, "slide|shrink")
+                .addAttribute(R.attr.layerPolicy, "hardware")
+                .build();
+
+        MovableActionButton button = new MovableActionButton(mContext, attrs);
+        CoordinatorLayout.Behavior<FloatingActionButton> behavior = button.getBehavior();
+
+        assertTrue(behavior instanceof DodgeBehavior);
+        assertEquals(DodgeBehavior.MODE_SLIDE | DodgeBehavior.MODE_SHRINK,
+                ((DodgeBehavior<FloatingActionButton>) behavior).getDodgeMode());
+        assertEquals(LayerPolicy.POLICY_HARDWARE, ((DodgeBehavior<FloatingActionButton>) behavior).getLayerPolicy()
+                .getPolicy());
+    }
+
+    @Test
+    public void scrollHide_onExtendedButton() {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.behaviorType, "scrollHide")
+                .addAttribute(R.attr.hideMode, "shrink")
+                .build();
+
+        ExtendedMovableActionButton button = new ExtendedMovableActionButton(mContext, attrs);
+
+        assertTrue(button.getBehavior() instanceof ScrollHideBehavior);
+        assertEquals(ScrollHideBehavior.MODE_SHRINK, ((ScrollHideBehavior<?>) button.getBehavior()).getHideMode());
+    }
+
+    @Test
+    public void none_isNotAMovableBehavior() {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.behaviorType, "none")
+                .build();
+
+        MovableActionButton button = new MovableActionButton(mContext, attrs);
+
+        assertNotNull(button.getBehavior());
+        assertFalse(button.getBehavior() instanceof SlideBehavior);
+        assertFalse(button.getBehavior() instanceof DodgeBehavior);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import com.unary.movableactionbutton.core.MovementConstraints;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a bounds provider does not keep views that were removed from their window, and that
+ * a view attached again picks up the changes it missed while detached.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BoundsProviderTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 600;
+    private static final int MARGIN = 16;
+
+    private Context mContext;
+    private CoordinatorLayout mParent;
+    private final float[] mExclusion = new float[4];
+
+    private final BoundsProvider mProvider = new BoundsProvider() {
+        @Override
+        public void onBuildConstraints(@NonNull View view, @NonNull MovementConstraints constraints) {
+            if (mExclusion[2] > mExclusion[0]) {
+                constraints.addExclusion(mExclusion[0], mExclusion[1], mExclusion[2], mExclusion[3]);
+            }
+        }
+    };
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+
+        mContext = new ContextThemeWrapper(activity, com.google.android.material.R.style.Theme_MaterialComponents_Light);
+        mParent = new CoordinatorLayout(mContext);
+
+        activity.setContentView(mParent, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void detachedView_isNotKept() {
+        WeakReference<MovableActionButton> reference = addAndRemoveButton();
+
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void reattachedView_picksUpMissedChanges() {
+        MovableActionButton button = new MovableActionButton(mContext);
+        CoordinatorLayout.LayoutParams lp = createLayoutParams();
+
+        button.setBoundsProvider(mProvider);
+        mParent.addView(button, lp);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        mParent.removeView(button);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        // Covers the bottom right corner where the button sits
+        mExclusion[0] = WIDTH / 2f;
+        mExclusion[1] = HEIGHT / 2f;
+        mExclusion[2] = WIDTH;
+        mExclusion[3] = HEIGHT;
+        mProvider.notifyChanged();
+
+        mParent.addView(button, lp);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        assertTrue(button.getX() + button.getWidth() <= WIDTH / 2f + 0.01f
+                || button.getY() + button.getHeight() <= HEIGHT / 2f + 0.01f);
+    }
+
+    @Test
+    public void draggedView_leavesNewExclusion() {
+        MovableActionButton button = new MovableActionButton(mContext);
+
+        button.setBoundsProvider(mProvider);
+        mParent.addView(button, createLayoutParams());
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        // Left at rest after a short drag
+        float downX = button.getX() + button.getWidth() / 2f;
+        float downY = button.getY() + button.getHeight() / 2f;
+
+        dispatch(button, MotionEvent.ACTION_DOWN, downX, downY);
+        dispatch(button, MotionEvent.ACTION_MOVE, downX - 40, downY - 40);
+        dispatch(button, MotionEvent.ACTION_UP, downX - 40, downY - 40);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        // Now covers the button
+        mExclusion[0] = button.getX() - 10;
+        mExclusion[1] = button.getY() - 10;
+        mExclusion[2] = WIDTH;
+        mExclusion[3] = HEIGHT;
+        mProvider.notifyChanged();
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        assertTrue(button.getX() + button.getWidth() <= mExclusion[0] + 0.01f
+                || button.getY() + button.getHeight() <= mExclusion[1] + 0.01f);
+    }
+
+    /**
+     * Add a button using the provider to the window and remove it again. Kept in its own method so
+     * no local reference to the button is left behind.
+     *
+     * @return Weak reference to the button.
+     */
+    private WeakReference<MovableActionButton> addAndRemoveButton() {
+        MovableActionButton button = new MovableActionButton(mContext);
+
+        button.setBoundsProvider(mProvider);
+        mParent.addView(button, createLayoutParams());
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        mParent.removeView(button);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        return new WeakReference<>(button);
+    }
+
+    private static void dispatch(View button, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, y, 0);
+        button.onTouchEvent(event);
+        event.recycle();
+    }
+
+    private static CoordinatorLayout.LayoutParams createLayoutParams() {
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+
+        return lp;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import com.unary.movableactionbutton.core.ManualFrameClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Sends several batched move events per frame and checks from the drag metrics that coalescing
+ * applies one position update per frame, landing on the latest sample, while the direct path
+ * applies one per event.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CoalesceMovesTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 800;
+    private static final int MARGIN = 16;
+    private static final int FRAMES = 10;
+    private static final int EVENTS_PER_FRAME = 3;
+    private static final int SAMPLES_PER_EVENT = 4;
+    private static final int SLOP_OFFSET = 20;
+    private static final int STEP = 2;
+
+    private MovableActionButton mButton;
+    private ManualFrameClock mClock;
+    private DragMetrics mMetrics;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity,
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        CoordinatorLayout parent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(mButton, lp);
+
+        activity.setContentView(parent, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        mClock = new ManualFrameClock();
+        mMetrics = new DragMetrics();
+
+        mButton.getTouchHelper().setFrameClock(mClock);
+        mButton.setOnDragMetricsListener(new OnDragMetricsListener() {
+            @Override
+            public void onDragMetrics(@NonNull View view, @NonNull DragMetrics dragMetrics) {
+                mMetrics.set(dragMetrics);
+            }
+        });
+    }
+
+    @Test
+    public void coalesced_oneUpdatePerFrame() {
+        mButton.getTouchHelper().setCoalesceMoves(true);
+        drag();
+
+        assertEquals(2 + FRAMES * EVENTS_PER_FRAME, mMetrics.getTouchEventCount());
+        assertEquals(FRAMES, mMetrics.getPositionUpdateCount());
+        assertEquals(FRAMES * (EVENTS_PER_FRAME - 1), mMetrics.getCoalescedCount());
+        assertTrue(mMetrics.isMoved());
+    }
+
+    @Test
+    public void direct_oneUpdatePerEvent() {
+        drag();
+
+        assertEquals(2 + FRAMES * EVENTS_PER_FRAME, mMetrics.getTouchEventCount());
+        assertEquals(FRAMES * EVENTS_PER_FRAME, mMetrics.getPositionUpdateCount());
+        assertEquals(0, mMetrics.getCoalescedCount());
+    }
+
+    /**
+     * Drag up and to the left with batched samples, advancing the clock once per frame. After each
+     * frame the view has to be on the latest sample.
+     */
+    private void drag() {
+        float startX = mButton.getX();
+        float startY = mButton.getY();
+        float downX = startX + mButton.getWidth() / 2f;
+        float downY = startY + mButton.getHeight() / 2f;
+        int sample = 0;
+        long time = 0;
+
+        dispatch(MotionEvent.obtain(0, time, MotionEvent.ACTION_DOWN, downX, downY, 0));
+
+        for (int frame = 0; frame < FRAMES; frame++) {
+            for (int i = 0; i < EVENTS_PER_FRAME; i++) {
+                MotionEvent move = null;
+
+                // Older samples end up in the history of the event
+                for (int j = 0; j < SAMPLES_PER_EVENT; j++) {
+                    float offset = SLOP_OFFSET + sample++ * STEP;
+                    time += 2;
+
+                    if (move == null) {
+                        move = MotionEvent.obtain(0, time, MotionEvent.ACTION_MOVE, downX - offset, downY - offset, 0);
+                    } else {
+                        move.addBatch(time, downX - offset, downY - offset, 1f, 1f, 0);
+                    }
+                }
+
+                assertEquals(SAMPLES_PER_EVENT - 1, move.getHistorySize());
+                dispatch(move);
+            }
+
+            mClock.advance();
+
+            float offset = SLOP_OFFSET + (sample - 1) * STEP;
+            assertEquals(startX - offset, mButton.getX(), 0.01f);
+            assertEquals(startY - offset, mButton.getY(), 0.01f);
+        }
+
+        float offset = SLOP_OFFSET + (sample - 1) * STEP;
+        dispatch(MotionEvent.obtain(0, time, MotionEvent.ACTION_UP, downX - offset, downY - offset, 0));
+    }
+
+    private void dispatch(MotionEvent event) {
+        mButton.onTouchEvent(event);
+        event.recycle();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.bottomsheet.BottomSheetBehavior;
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the dodge behavior picks up a bottom sheet behavior set after the view was first
+ * seen, and that every change of a dependency is applied no matter how quickly it follows the last.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DodgeBehaviorTest {
+
+    private static final int PARENT_WIDTH = 1080;
+    private static final int PARENT_HEIGHT = 1920;
+    private static final int SHEET_HEIGHT = 100;
+    private static final int FAB_SIZE = 168;
+    private static final int FAB_MARGIN = 48;
+
+    private CoordinatorLayout mParent;
+    private MovableActionButton mButton;
+    private FrameLayout mSheet;
+
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        mParent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        mSheet = new FrameLayout(context);
+
+        mParent.addView(mButton, new CoordinatorLayout.LayoutParams(FAB_SIZE, FAB_SIZE));
+        mParent.addView(mSheet, new CoordinatorLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                SHEET_HEIGHT));
+
+        mButton.layout(PARENT_WIDTH - FAB_MARGIN - FAB_SIZE, PARENT_HEIGHT - FAB_MARGIN - FAB_SIZE,
+                PARENT_WIDTH - FAB_MARGIN, PARENT_HEIGHT - FAB_MARGIN);
+        mSheet.layout(0, PARENT_HEIGHT - SHEET_HEIGHT, PARENT_WIDTH, PARENT_HEIGHT);
+    }
+
+    @Test
+    public void bottomSheet_setLater_isDodged() {
+        DodgeBehavior<FloatingActionButton> behavior = new DodgeBehavior<>();
+
+        assertFalse(behavior.layoutDependsOn(mParent, mButton, mSheet));
+
+        ((CoordinatorLayout.LayoutParams) mSheet.getLayoutParams()).setBehavior(new BottomSheetBehavior<>());
+
+        assertTrue(behavior.layoutDependsOn(mParent, mButton, mSheet));
+        assertTrue(behavior.onDependentViewChanged(mParent, mButton, mSheet));
+        assertTrue(mButton.getTranslationY() < 0);
+
+        // And forgotten again once it is no longer a sheet
+        ((CoordinatorLayout.LayoutParams) mSheet.getLayoutParams()).setBehavior(null);
+
+        assertFalse(behavior.layoutDependsOn(mParent, mButton, mSheet));
+        assertTrue(behavior.onDependentViewChanged(mParent, mButton, mSheet));
+        assertEquals(0f, mButton.getTranslationY(), 0f);
+    }
+
+    @Test
+    public void backToBackChanges_areAllApplied() {
+        DodgeBehavior<FloatingActionButton> behavior = new DodgeBehavior<>();
+
+        ((CoordinatorLayout.LayoutParams) mSheet.getLayoutParams()).setBehavior(new BottomSheetBehavior<>());
+        assertTrue(behavior.layoutDependsOn(mParent, mButton, mSheet));
+
+        assertTrue(behavior.onDependentViewChanged(mParent, mButton, mSheet));
+        float translationY = mButton.getTranslationY();
+
+        // Nothing new in the same pass
+        assertFalse(behavior.onDependentViewChanged(mParent, mButton, mSheet));
+        assertEquals(translationY, mButton.getTranslationY(), 0f);
+
+        // Right away, without a new frame
+        mSheet.setTranslationY(-50);
+
+        assertTrue(behavior.onDependentViewChanged(mParent, mButton, mSheet));
+        assertEquals(translationY - 50, mButton.getTranslationY(), 0.01f);
+    }
+}
\ No newline at end of file
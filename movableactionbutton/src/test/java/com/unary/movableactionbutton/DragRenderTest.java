@@ -0,0 +1,128 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.view.ViewCompat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drags a button with every drag render mode on and checks that the alpha, layer type and
+ * elevation are changed once the drag starts and restored whether the gesture is released or
+ * taken away.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DragRenderTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 800;
+    private static final int MARGIN = 16;
+    private static final int DRAG = 40;
+    private static final float ALPHA = 0.8f;
+    private static final float MOVING_ALPHA = 0.5f;
+    private static final float ELEVATION = 12f;
+
+    private MovableActionButton mButton;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity,
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        CoordinatorLayout parent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(mButton, lp);
+
+        activity.setContentView(parent, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        mButton.setAlpha(ALPHA);
+        ViewCompat.setElevation(mButton, ELEVATION);
+
+        MovableTouchHelper helper = mButton.getTouchHelper();
+        helper.setMovingAlpha(MOVING_ALPHA);
+        helper.setDragRenderMode(MovableTouchHelper.RENDER_LAYER | MovableTouchHelper.RENDER_FLAT);
+    }
+
+    @Test
+    public void actionUp_restoresRendering() {
+        dragAndEnd(MotionEvent.ACTION_UP);
+    }
+
+    @Test
+    public void actionCancel_restoresRendering() {
+        dragAndEnd(MotionEvent.ACTION_CANCEL);
+    }
+
+    @Test
+    public void ownLayer_isLeftAlone() {
+        mButton.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
+
+        float x = mButton.getX() + mButton.getWidth() / 2f;
+        float y = mButton.getY() + mButton.getHeight() / 2f;
+
+        dispatch(MotionEvent.ACTION_DOWN, x, y);
+        dispatch(MotionEvent.ACTION_MOVE, x - DRAG, y - DRAG);
+        assertEquals(View.LAYER_TYPE_SOFTWARE, mButton.getLayerType());
+
+        dispatch(MotionEvent.ACTION_UP, x - DRAG, y - DRAG);
+        assertEquals(View.LAYER_TYPE_SOFTWARE, mButton.getLayerType());
+    }
+
+    /**
+     * Drag the button and end the gesture with the given action.
+     *
+     * @param action Either ACTION_UP or ACTION_CANCEL.
+     */
+    private void dragAndEnd(int action) {
+        float x = mButton.getX() + mButton.getWidth() / 2f;
+        float y = mButton.getY() + mButton.getHeight() / 2f;
+
+        // Nothing changes before the touch slop is passed
+        dispatch(MotionEvent.ACTION_DOWN, x, y);
+        assertRestored();
+
+        dispatch(MotionEvent.ACTION_MOVE, x - DRAG, y - DRAG);
+        assertEquals(ALPHA * MOVING_ALPHA, mButton.getAlpha(), 0.001f);
+        assertEquals(View.LAYER_TYPE_HARDWARE, mButton.getLayerType());
+        assertEquals(0f, ViewCompat.getElevation(mButton), 0f);
+
+        dispatch(MotionEvent.ACTION_MOVE, x - 2 * DRAG, y - 2 * DRAG);
+        dispatch(action, x - 2 * DRAG, y - 2 * DRAG);
+        assertRestored();
+    }
+
+    private void assertRestored() {
+        assertEquals(ALPHA, mButton.getAlpha(), 0.001f);
+        assertEquals(View.LAYER_TYPE_NONE, mButton.getLayerType());
+        assertEquals(ELEVATION, ViewCompat.getElevation(mButton), 0f);
+    }
+
+    private void dispatch(int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, y, 0);
+        mButton.onTouchEvent(event);
+        event.recycle();
+    }
+}
\ No newline at end of file
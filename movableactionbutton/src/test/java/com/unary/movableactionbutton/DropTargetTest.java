@@ -0,0 +1,209 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drags a button over drop targets and checks that the listener only hears about changes of the
+ * target under it, and that a consumed drop ends the gesture.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DropTargetTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int MARGIN = 16;
+
+    private Context mContext;
+    private MovableActionButton mButton;
+    private DropTargetRegistry mTargets;
+    private RecordingListener mListener;
+    private float mDownX;
+    private float mDownY;
+    private float mStartX;
+    private float mStartY;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+        mButton = new MovableActionButton(mContext);
+
+        CoordinatorLayout parent = new CoordinatorLayout(mContext);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(mButton, lp);
+
+        parent.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        parent.layout(0, 0, WIDTH, HEIGHT);
+
+        mTargets = new DropTargetRegistry(mContext);
+        mListener = new RecordingListener();
+
+        mButton.setDropTargets(mTargets);
+        mButton.setOnDropListener(mListener);
+    }
+
+    @Test
+    public void findTarget_nearestCenterWins() {
+        int large = mTargets.addTarget(0, 0, 400, 400);
+        int small = mTargets.addTarget(100, 100, 200, 200);
+
+        assertEquals(small, mTargets.findTarget(150, 150));
+        assertEquals(large, mTargets.findTarget(300, 300));
+        assertEquals(DropTargetRegistry.NO_TARGET, mTargets.findTarget(500, 500));
+
+        // Freed ids are reused
+        mTargets.removeTarget(large);
+        assertEquals(1, mTargets.getTargetCount());
+        assertEquals(large, mTargets.addTarget(600, 600, 700, 700));
+    }
+
+    @Test
+    public void drag_onlyReportsTransitions() {
+        mListener.mConsume = true;
+        int remove = mTargets.addTarget(0, 0, 400, 400);
+
+        down();
+
+        // Several moves over the same target
+        moveCenterTo(200, 200);
+        moveCenterTo(210, 220);
+        moveCenterTo(190, 180);
+
+        assertEquals(1, mListener.mEnters);
+        assertEquals(remove, mListener.mLastTarget);
+
+        // Out and back in
+        moveCenterTo(600, 600);
+        moveCenterTo(650, 650);
+        moveCenterTo(200, 200);
+
+        assertEquals(2, mListener.mEnters);
+        assertEquals(1, mListener.mExits);
+
+        MotionEvent up = up();
+
+        assertEquals(1, mListener.mDrops);
+        assertEquals(1, mListener.mExits);
+        assertEquals(MotionEvent.ACTION_CANCEL, up.getAction());
+        up.recycle();
+    }
+
+    @Test
+    public void drop_notConsumed_exitsAndKeepsPosition() {
+        mListener.mConsume = false;
+        mTargets.addTarget(0, 0, 400, 400);
+
+        down();
+        moveCenterTo(200, 200);
+        up().recycle();
+
+        assertEquals(1, mListener.mEnters);
+        assertEquals(1, mListener.mDrops);
+        assertEquals(1, mListener.mExits);
+        assertEquals(200f, mButton.getX() + mButton.getWidth() / 2f, 0.01f);
+    }
+
+    @Test
+    public void cancel_exitsTarget() {
+        mTargets.addTarget(0, 0, 400, 400);
+
+        down();
+        moveCenterTo(200, 200);
+        dispatch(MotionEvent.ACTION_CANCEL, mDownX, mDownY).recycle();
+
+        assertEquals(1, mListener.mEnters);
+        assertEquals(1, mListener.mExits);
+        assertEquals(0, mListener.mDrops);
+    }
+
+    private void down() {
+        mStartX = mButton.getX();
+        mStartY = mButton.getY();
+        mDownX = mStartX + mButton.getWidth() / 2f;
+        mDownY = mStartY + mButton.getHeight() / 2f;
+
+        dispatch(MotionEvent.ACTION_DOWN, mDownX, mDownY).recycle();
+    }
+
+    private void moveCenterTo(float x, float y) {
+        float rawX = mDownX + x - mButton.getWidth() / 2f - mStartX;
+        float rawY = mDownY + y - mButton.getHeight() / 2f - mStartY;
+
+        dispatch(MotionEvent.ACTION_MOVE, rawX, rawY).recycle();
+    }
+
+    private MotionEvent up() {
+        return dispatch(MotionEvent.ACTION_UP, mButton.getX() + mButton.getWidth() / 2f,
+                mButton.getY() + mButton.getHeight() / 2f);
+    }
+
+    private MotionEvent dispatch(int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, y, 0);
+        mButton.getTouchHelper().onTouchEvent(event);
+
+        return event;
+    }
+
+    private static class RecordingListener implements OnDropListener {
+
+        boolean mConsume;
+        int mEnters;
+        int mExits;
+        int mDrops;
+        int mLastTarget = DropTargetRegistry.NO_TARGET;
+
+        @Override
+        public void onTargetEnter(@NonNull View view, int target) {
+            mEnters++;
+            mLastTarget = target;
+        }
+
+        @Override
+        public void onTargetExit(@NonNull View view, int target) {
+            mExits++;
+        }
+
+        @Override
+        public boolean onDrop(@NonNull View view, int target) {
+            mDrops++;
+
+            return mConsume;
+        }
+    }
+}
\ No newline at end of file
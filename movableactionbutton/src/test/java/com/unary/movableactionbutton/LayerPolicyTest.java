@@ -0,0 +1,157 @@
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives the behaviors through a simulated Snackbar animation and checks that, once asked for, the
+ * button is put on one hardware layer for the whole dodge and taken off it again at the end.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LayerPolicyTest {
+
+    private static final int PARENT_WIDTH = 1080;
+    private static final int PARENT_HEIGHT = 1920;
+    private static final int SNACKBAR_HEIGHT = 144;
+    private static final int FAB_SIZE = 168;
+    private static final int FAB_MARGIN = 48;
+    private static final int FRAMES = 15; // 250ms at 60Hz
+
+    private CoordinatorLayout mParent;
+    private MovableActionButton mButton;
+    private Snackbar.SnackbarLayout mSnackbar;
+
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        mParent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        mSnackbar = new Snackbar.SnackbarLayout(context);
+
+        mParent.addView(mButton, new CoordinatorLayout.LayoutParams(FAB_SIZE, FAB_SIZE));
+        mParent.addView(mSnackbar, new CoordinatorLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                SNACKBAR_HEIGHT));
+
+        mButton.layout(PARENT_WIDTH - FAB_MARGIN - FAB_SIZE, PARENT_HEIGHT - FAB_MARGIN - FAB_SIZE,
+                PARENT_WIDTH - FAB_MARGIN, PARENT_HEIGHT - FAB_MARGIN);
+        mSnackbar.layout(0, PARENT_HEIGHT - SNACKBAR_HEIGHT, PARENT_WIDTH, PARENT_HEIGHT);
+    }
+
+    @Test
+    public void default_leavesLayerAlone() {
+        SlideBehavior<FloatingActionButton> behavior = new SlideBehavior<>();
+
+        assertEquals(LayerPolicy.POLICY_NONE, behavior.getLayerPolicy().getPolicy());
+        assertEquals(0, animate(behavior));
+    }
+
+    @Test
+    public void slide_staysOnOneLayer() {
+        SlideBehavior<FloatingActionButton> behavior = new SlideBehavior<>();
+        behavior.getLayerPolicy().setPolicy(LayerPolicy.POLICY_HARDWARE);
+
+        assertOneLayer(behavior.getLayerPolicy(), animate(behavior));
+    }
+
+    @Test
+    public void shrink_staysOnOneLayer() {
+        ShrinkBehavior<FloatingActionButton> behavior = new ShrinkBehavior<>();
+        behavior.getLayerPolicy().setPolicy(LayerPolicy.POLICY_HARDWARE);
+
+        assertOneLayer(behavior.getLayerPolicy(), animate(behavior));
+    }
+
+    @Test
+    public void dodge_staysOnOneLayer() {
+        DodgeBehavior<FloatingActionButton> behavior = new DodgeBehavior<>();
+        behavior.getLayerPolicy().setPolicy(LayerPolicy.POLICY_HARDWARE);
+
+        assertTrue(behavior.layoutDependsOn(mParent, mButton, mSnackbar));
+        assertOneLayer(behavior.getLayerPolicy(), animate(behavior));
+    }
+
+    @Test
+    public void beginAndEnd_restoreLayerType() {
+        LayerPolicy policy = new LayerPolicy();
+        policy.setPolicy(LayerPolicy.POLICY_HARDWARE);
+
+        policy.begin(mButton);
+        assertEquals(View.LAYER_TYPE_HARDWARE, mButton.getLayerType());
+
+        // A second begin in the same animation keeps the one layer
+        policy.begin(mButton);
+        policy.end(mButton);
+        assertEquals(View.LAYER_TYPE_NONE, mButton.getLayerType());
+        assertEquals(1, policy.getPromotionCount());
+    }
+
+    @Test
+    public void beginAndEnd_keepOwnLayer() {
+        LayerPolicy policy = new LayerPolicy();
+        policy.setPolicy(LayerPolicy.POLICY_HARDWARE);
+        mButton.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
+
+        policy.begin(mButton);
+        assertEquals(View.LAYER_TYPE_SOFTWARE, mButton.getLayerType());
+
+        policy.end(mButton);
+        assertEquals(View.LAYER_TYPE_SOFTWARE, mButton.getLayerType());
+        assertEquals(0, policy.getPromotionCount());
+    }
+
+    /**
+     * Slide the Snackbar in, one dependency callback per frame, then remove it. Once the button is
+     * on a layer it has to stay there until the Snackbar is gone.
+     *
+     * @return Number of frames the button spent on a layer.
+     */
+    private int animate(CoordinatorLayout.Behavior<FloatingActionButton> behavior) {
+        int layerFrames = 0;
+
+        for (int frame = 0; frame <= FRAMES; frame++) {
+            mSnackbar.setTranslationY(SNACKBAR_HEIGHT * (1 - (float) frame / FRAMES));
+            behavior.onDependentViewChanged(mParent, mButton, mSnackbar);
+
+            if (mButton.getLayerType() == View.LAYER_TYPE_HARDWARE) {
+                layerFrames++;
+            } else {
+                assertEquals(0, layerFrames);
+            }
+
+            // Next animation frame
+            ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        }
+
+        mParent.removeView(mSnackbar);
+        behavior.onDependentViewRemoved(mParent, mButton, mSnackbar);
+
+        assertEquals(View.LAYER_TYPE_NONE, mButton.getLayerType());
+
+        return layerFrames;
+    }
+
+    private static void assertOneLayer(LayerPolicy policy, int layerFrames) {
+        assertTrue(layerFrames > 0);
+        assertEquals(1, policy.getPromotionCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.os.Build;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import com.unary.movableactionbutton.core.ManualFrameClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.shadows.ShadowView;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drags a view in low latency mode on both sides of Android 11. Unbuffered dispatch is only asked
+ * for where it exists, and the moves are applied once per frame either way.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = LowLatencyTest.ShadowUnbufferedView.class)
+public class LowLatencyTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 800;
+    private static final int SIZE = 100;
+    private static final int MARGIN = 16;
+    private static final int DRAG = 40;
+
+    private View mView;
+    private MovableTouchHelper mHelper;
+    private ManualFrameClock mClock;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+
+        CoordinatorLayout parent = new CoordinatorLayout(activity);
+        mView = new View(activity);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(SIZE, SIZE);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(mView, lp);
+
+        mHelper = MovableTouchHelper.attach(mView);
+        mClock = new ManualFrameClock();
+
+        mHelper.setFrameClock(mClock);
+        mHelper.setLowLatency(true);
+
+        activity.setContentView(parent, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowUnbufferedView.sRequests = 0;
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @Config(sdk = 30)
+    public void android11_requestsUnbufferedDispatch() {
+        drag();
+
+        assertEquals(1, ShadowUnbufferedView.sRequests);
+    }
+
+    @Test
+    @Config(sdk = 29)
+    public void android10_keepsBatchedInput() {
+        drag();
+
+        assertEquals(0, ShadowUnbufferedView.sRequests);
+    }
+
+    /**
+     * Drag with two moves in one frame. Neither is applied before the frame, and only the latest
+     * one is applied on it.
+     */
+    private void drag() {
+        float startX = mView.getX();
+        float startY = mView.getY();
+        float x = startX + SIZE / 2f;
+        float y = startY + SIZE / 2f;
+
+        dispatch(MotionEvent.ACTION_DOWN, x, y);
+        dispatch(MotionEvent.ACTION_MOVE, x - DRAG, y - DRAG);
+        dispatch(MotionEvent.ACTION_MOVE, x - 2 * DRAG, y - 2 * DRAG);
+
+        assertEquals(startX, mView.getX(), 0f);
+        assertEquals(startY, mView.getY(), 0f);
+
+        mClock.advance();
+
+        assertEquals(startX - 2 * DRAG, mView.getX(), 0.01f);
+        assertEquals(startY - 2 * DRAG, mView.getY(), 0.01f);
+        assertEquals(1, mHelper.getCoalescedMoveCount());
+
+        dispatch(MotionEvent.ACTION_UP, x - 2 * DRAG, y - 2 * DRAG);
+    }
+
+    private void dispatch(int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, y, 0);
+        mView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * Counts the requests for unbuffered dispatch, which only exist from Android 11.
+     */
+    @Implements(View.class)
+    public static class ShadowUnbufferedView extends ShadowView {
+
+        static int sRequests;
+
+        @Implementation(minSdk = Build.VERSION_CODES.R)
+        protected void requestUnbufferedDispatch(MotionEvent event) {
+            sRequests++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.graphics.PointF;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.ContextThemeWrapper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.stateful.ExtendableSavedState;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the saved state round trip, its size against the previous Bundle layout and that state
+ * saved by earlier versions can still be restored.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(qualifiers = "port")
+public class MovableSavedStateTest {
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+    }
+
+    @Test
+    public void savedState_roundTrip_keepsTranslation() {
+        MovableActionButton button = new MovableActionButton(mContext);
+        button.setTranslationX(-120.5f);
+        button.setTranslationY(-64f);
+
+        MovableSavedState state = (MovableSavedState) parcel(button.onSaveInstanceState());
+
+        assertEquals(-120.5f, state.portraitX, 0f);
+        assertEquals(-64f, state.portraitY, 0f);
+        assertEquals(0f, state.landscapeX, 0f);
+        assertEquals(0f, state.landscapeY, 0f);
+    }
+
+    @Test
+    public void savedState_isSmallerThanBundle() {
+        MovableActionButton button = new MovableActionButton(mContext);
+        button.setTranslationX(-120.5f);
+
+        MovableSavedState state = (MovableSavedState) button.onSaveInstanceState();
+        ExtendableSavedState legacy = new ExtendableSavedState(state.getSuperState());
+        legacy.extendableStates.put(MovableActionButton.class.getSimpleName(),
+                button.getTouchHelper().onSaveInstanceState());
+
+        int size = parcelSize(state);
+        int legacySize = parcelSize(legacy);
+
+        assertTrue(size + " bytes, Bundle " + legacySize + " bytes", size < legacySize);
+    }
+
+    @Test
+    public void restore_legacyBundle_keepsBothOrientations() {
+        MovableActionButton previous = new MovableActionButton(mContext);
+        Bundle bundle = new Bundle();
+
+        bundle.putParcelable("portrait", new PointF(-30f, -40f));
+        bundle.putParcelable("landscape", new PointF(-50f, -60f));
+
+        MovableSavedState superState = (MovableSavedState) previous.onSaveInstanceState();
+        ExtendableSavedState legacy = new ExtendableSavedState(superState.getSuperState());
+        legacy.extendableStates.put(MovableActionButton.class.getSimpleName(), bundle);
+
+        MovableActionButton button = new MovableActionButton(mContext);
+        button.onRestoreInstanceState(parcel(legacy));
+
+        // Saved again before it was drawn
+        MovableSavedState state = (MovableSavedState) button.onSaveInstanceState();
+
+        assertEquals(-30f, state.portraitX, 0f);
+        assertEquals(-40f, state.portraitY, 0f);
+        assertEquals(-50f, state.landscapeX, 0f);
+        assertEquals(-60f, state.landscapeY, 0f);
+    }
+
+    private static Parcelable parcel(Parcelable state) {
+        Parcel parcel = Parcel.obtain();
+
+        try {
+            parcel.writeParcelable(state, 0);
+            parcel.setDataPosition(0);
+
+            return parcel.readParcelable(MovableSavedStateTest.class.getClassLoader());
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static int parcelSize(Parcelable state) {
+        Parcel parcel = Parcel.obtain();
+
+        try {
+            parcel.writeParcelable(state, 0);
+
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
\ No newline at end of file
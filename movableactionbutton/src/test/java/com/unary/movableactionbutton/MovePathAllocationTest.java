@@ -0,0 +1,186 @@
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.unary.movableactionbutton.core.ManualFrameClock;
+import com.unary.movableactionbutton.core.MovementConstraints;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drags both widgets around a laid out parent with snapping, a bounds provider exclusion, a group
+ * neighbor and drop targets all active, and checks that the move events do not allocate once the
+ * drag is warmed up. Moves are either applied directly or synced to a manual frame clock.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class MovePathAllocationTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int MARGIN = 16;
+    private static final int WARMUP_MOVES = 2_000;
+    private static final int MOVES = 10_000;
+
+    private final boolean mExtended;
+    private final boolean mFrameSynced;
+    private int mEnters;
+
+    public MovePathAllocationTest(String widget, boolean frameSynced) {
+        mExtended = widget.equals(ExtendedMovableActionButton.class.getSimpleName());
+        mFrameSynced = frameSynced;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0} frameSynced={1}")
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<>();
+
+        for (boolean frameSynced : new boolean[]{false, true}) {
+            data.add(new Object[]{MovableActionButton.class.getSimpleName(), frameSynced});
+            data.add(new Object[]{ExtendedMovableActionButton.class.getSimpleName(), frameSynced});
+        }
+
+        return data;
+    }
+
+    @Test
+    public void moves_areAllocationFree() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        CoordinatorLayout parent = new CoordinatorLayout(context);
+        View button = createButton(context);
+        MovableActionButton neighbor = new MovableActionButton(context);
+
+        parent.addView(button, createLayoutParams(Gravity.BOTTOM | Gravity.END));
+        parent.addView(neighbor, createLayoutParams(Gravity.CENTER));
+
+        parent.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        parent.layout(0, 0, WIDTH, HEIGHT);
+
+        MovableTouchHelper helper = mExtended ? ((ExtendedMovableActionButton) button).getTouchHelper()
+                : ((MovableActionButton) button).getTouchHelper();
+        ManualFrameClock clock = new ManualFrameClock();
+
+        helper.setFrameClock(clock);
+        helper.setCoalesceMoves(mFrameSynced);
+        helper.setSnapMode(MovableTouchHelper.SNAP_GRID);
+        helper.setSnapWhileMoving(true);
+
+        MovableGroup group = new MovableGroup(context);
+        group.add(helper);
+        group.add(neighbor);
+
+        helper.setBoundsProvider(new BoundsProvider() {
+            @Override
+            public void onBuildConstraints(@NonNull View view, @NonNull MovementConstraints constraints) {
+                constraints.addExclusion(100, 300, 500, 700);
+            }
+        });
+
+        DropTargetRegistry targets = new DropTargetRegistry(context);
+        targets.addTarget(0, HEIGHT - 400, WIDTH, HEIGHT);
+        targets.addTarget(WIDTH - 400, 0, WIDTH, 400);
+
+        helper.setDropTargets(targets);
+        helper.setOnDropListener(new OnDropListener() {
+            @Override
+            public void onTargetEnter(@NonNull View view, int target) {
+                mEnters++;
+            }
+
+            @Override
+            public void onTargetExit(@NonNull View view, int target) {
+            }
+
+            @Override
+            public boolean onDrop(@NonNull View view, int target) {
+                return false;
+            }
+        });
+
+        // Built up front so only the widget is measured
+        float downX = button.getX() + button.getWidth() / 2f;
+        float downY = button.getY() + button.getHeight() / 2f;
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, downX, downY, 0);
+        MotionEvent[] moves = new MotionEvent[MOVES];
+
+        // Loops around the parent through every obstacle
+        for (int i = 0; i < moves.length; i++) {
+            double angle = i * 0.02;
+            float x = WIDTH / 2f + (float) Math.cos(angle) * WIDTH * 0.6f;
+            float y = HEIGHT / 2f + (float) Math.sin(angle * 1.3) * HEIGHT * 0.6f;
+
+            moves[i] = MotionEvent.obtain(0, i * 8L, MotionEvent.ACTION_MOVE, x, y, 0);
+        }
+
+        button.onTouchEvent(down);
+        drag(button, clock, moves, WARMUP_MOVES);
+
+        long start = AllocationCounter.allocatedBytes();
+        drag(button, clock, moves, MOVES);
+        long bytes = AllocationCounter.allocatedBytes() - start;
+
+        MotionEvent cancel = MotionEvent.obtain(0, MOVES * 8L, MotionEvent.ACTION_CANCEL, downX, downY, 0);
+        button.onTouchEvent(cancel);
+
+        cancel.recycle();
+        down.recycle();
+
+        for (MotionEvent move : moves) {
+            move.recycle();
+        }
+
+        // Rounds down to zero only if no move allocates
+        assertTrue(mEnters > 0);
+        assertEquals(0, bytes / MOVES);
+    }
+
+    private void drag(View button, ManualFrameClock clock, MotionEvent[] moves, int count) {
+        for (int i = 0; i < count; i++) {
+            button.onTouchEvent(moves[i]);
+
+            if (mFrameSynced) {
+                clock.advance();
+            }
+        }
+    }
+
+    private View createButton(Context context) {
+        if (mExtended) {
+            ExtendedMovableActionButton button = new ExtendedMovableActionButton(context);
+            button.setText("Create");
+
+            return button;
+        }
+
+        return new MovableActionButton(context);
+    }
+
+    private static CoordinatorLayout.LayoutParams createLayoutParams(int gravity) {
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = gravity;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+
+        return lp;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.unary.movableactionbutton;
+
+import android.graphics.PointF;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that position updates are debounced into a single write and survive a new store.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PositionStoreTest {
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void put_manyUpdates_writesOnce() {
+        CountingStorage storage = new CountingStorage();
+        PositionStore store = new PositionStore(storage, DIRECT);
+
+        // A drag ending on a fling and a second drag right after
+        for (int i = 0; i < 100; i++) {
+            store.put("fab/1", i, -i);
+            ShadowLooper.idleMainLooper(1, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(0, storage.mWrites);
+
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(1, storage.mWrites);
+        assertEquals(99f, storage.mPositions.get("fab/1").x, 0f);
+    }
+
+    @Test
+    public void put_samePosition_doesNotWrite() {
+        CountingStorage storage = new CountingStorage();
+        PositionStore store = new PositionStore(storage, DIRECT);
+
+        store.put("fab/1", 10, 20);
+        store.flush();
+        store.put("fab/1", 10, 20);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(1, storage.mWrites);
+    }
+
+    @Test
+    public void get_afterRestart_returnsStoredPosition() throws IOException {
+        File file = new File(mFolder.newFolder(), "positions");
+
+        PositionStore store = new PositionStore(new FilePositionStorage(file), DIRECT);
+        store.put("fab/1", 12.5f, -40f);
+        store.put("fab/2", 0f, 8f);
+        store.flush();
+
+        // A new process reads the file again
+        PositionStore restarted = new PositionStore(new FilePositionStorage(file), DIRECT);
+        PointF position = new PointF();
+
+        assertTrue(restarted.get("fab/1", position));
+        assertEquals(12.5f, position.x, 0f);
+        assertEquals(-40f, position.y, 0f);
+        assertFalse(restarted.get("fab/3", position));
+    }
+
+    private static class CountingStorage implements PositionStorage {
+
+        private final Map<String, PointF> mPositions = new HashMap<>();
+        private int mWrites;
+
+        @Override
+        public void read(@NonNull Map<String, PointF> positions) {
+        }
+
+        @Override
+        public void write(@NonNull Map<String, PointF> positions) {
+            mPositions.putAll(positions);
+            mWrites++;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.PointF;
+import android.os.Bundle;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Restores saved positions into parents of many different sizes and checks that the very first
+ * frame already shows the button inside the new bounds.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RestorePositionTest {
+
+    private static final int MARGIN = 16;
+    private static final int SIZE_CHANGES = 50;
+
+    @Test
+    public void restore_manySizes_clampedBeforeFirstDraw() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity,
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+        Random random = new Random(42);
+
+        for (int i = 0; i < SIZE_CHANGES; i++) {
+            int width = 160 + random.nextInt(140);
+            int height = 160 + random.nextInt(260);
+
+            // Saved in a previous, possibly much larger, window
+            MovableActionButton previous = new MovableActionButton(context);
+            previous.setTranslationX(random.nextInt(1600) - 800);
+            previous.setTranslationY(random.nextInt(1600) - 800);
+
+            Bundle state = previous.getTouchHelper().onSaveInstanceState();
+
+            final MovableActionButton button = new MovableActionButton(context);
+            button.getTouchHelper().onRestoreInstanceState(state);
+
+            // Not moved until the new bounds are known
+            assertEquals(0f, button.getTranslationX(), 0f);
+            assertEquals(0f, button.getTranslationY(), 0f);
+
+            final float[] firstFrame = new float[2];
+
+            button.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+                @Override
+                public boolean onPreDraw() {
+                    button.getViewTreeObserver().removeOnPreDrawListener(this);
+
+                    firstFrame[0] = button.getX();
+                    firstFrame[1] = button.getY();
+
+                    return true;
+                }
+            });
+
+            CoordinatorLayout parent = new CoordinatorLayout(context);
+            CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+            lp.gravity = Gravity.BOTTOM | Gravity.END;
+            lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+            parent.addView(button, lp);
+
+            activity.setContentView(parent, new ViewGroup.LayoutParams(width, height));
+            ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+            assertEquals(width, parent.getWidth());
+            assertEquals(height, parent.getHeight());
+
+            float expectedX = clamp(button.getLeft() + previous.getTranslationX(), MARGIN,
+                    width - MARGIN - button.getWidth());
+            float expectedY = clamp(button.getTop() + previous.getTranslationY(), MARGIN,
+                    height - MARGIN - button.getHeight());
+
+            assertEquals(expectedX, firstFrame[0], 0.01f);
+            assertEquals(expectedY, firstFrame[1], 0.01f);
+            assertEquals(expectedX, button.getX(), 0.01f);
+            assertEquals(expectedY, button.getY(), 0.01f);
+        }
+    }
+
+    @Test
+    public void restore_detachedWhilePending_appliedOnReattach() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity,
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        CoordinatorLayout parent = new CoordinatorLayout(context);
+        MovableActionButton button = new MovableActionButton(context);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(button, lp);
+
+        activity.setContentView(parent, new ViewGroup.LayoutParams(400, 600));
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        MovableActionButton previous = new MovableActionButton(context);
+        previous.setTranslationX(-100);
+        previous.setTranslationY(-200);
+
+        Bundle state = previous.getTouchHelper().onSaveInstanceState();
+        button.getTouchHelper().onRestoreInstanceState(state);
+
+        // Gone before the next frame
+        parent.removeView(button);
+        parent.getViewTreeObserver().dispatchOnPreDraw();
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(0f, button.getTranslationX(), 0f);
+        assertEquals(0f, button.getTranslationY(), 0f);
+
+        // Still the restored one, not the unapplied zero
+        Bundle saved = button.getTouchHelper().onSaveInstanceState();
+        PointF portrait = saved.getParcelable("portrait");
+
+        assertNotNull(portrait);
+        assertEquals(-100f, portrait.x, 0f);
+        assertEquals(-200f, portrait.y, 0f);
+
+        parent.addView(button, lp);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(button.getLeft() - 100, button.getX(), 0.01f);
+        assertEquals(button.getTop() - 200, button.getY(), 0.01f);
+    }
+
+    private static float clamp(float value, float min, float max) {
+        return Math.min(Math.max(value, min), max);
+    }
+}
\ No newline at end of file
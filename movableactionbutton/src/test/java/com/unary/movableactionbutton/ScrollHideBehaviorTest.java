@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.view.ViewCompat;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Feeds nested scroll events from a long list into the behavior and checks that the button hides
+ * with a single animation and comes back to the position the user gave it.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollHideBehaviorTest {
+
+    private static final int PARENT_WIDTH = 1080;
+    private static final int PARENT_HEIGHT = 1920;
+    private static final int FAB_SIZE = 168;
+    private static final int FAB_MARGIN = 48;
+    private static final float USER_TRANSLATION_Y = -600;
+    private static final int SCROLL_EVENTS = 200;
+
+    private CoordinatorLayout mParent;
+    private MovableActionButton mButton;
+    private View mList;
+
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        mParent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        mList = new View(context);
+
+        mParent.addView(mList, new CoordinatorLayout.LayoutParams(PARENT_WIDTH, PARENT_HEIGHT));
+        mParent.addView(mButton, new CoordinatorLayout.LayoutParams(FAB_SIZE, FAB_SIZE));
+
+        mParent.layout(0, 0, PARENT_WIDTH, PARENT_HEIGHT);
+        mButton.layout(PARENT_WIDTH - FAB_MARGIN - FAB_SIZE, PARENT_HEIGHT - FAB_MARGIN - FAB_SIZE,
+                PARENT_WIDTH - FAB_MARGIN, PARENT_HEIGHT - FAB_MARGIN);
+
+        // Somewhere the user dragged it
+        mButton.setTranslationY(USER_TRANSLATION_Y);
+    }
+
+    @Test
+    public void longScroll_hidesOnceAndComesBack() {
+        ScrollHideBehavior<FloatingActionButton> behavior = new ScrollHideBehavior<>();
+        behavior.getLayerPolicy().setPolicy(LayerPolicy.POLICY_HARDWARE);
+
+        assertTrue(behavior.onStartNestedScroll(mParent, mButton, mList, mList, ViewCompat.SCROLL_AXIS_VERTICAL,
+                ViewCompat.TYPE_TOUCH));
+
+        for (int i = 0; i < SCROLL_EVENTS; i++) {
+            scroll(behavior, 12);
+        }
+
+        // Below the parent, on one layer from a single animation
+        assertTrue(behavior.isHidden());
+        assertTrue(mButton.getY() >= PARENT_HEIGHT);
+        assertEquals(1, behavior.getLayerPolicy().getPromotionCount());
+
+        behavior.onStopNestedScroll(mParent, mButton, mList, ViewCompat.TYPE_TOUCH);
+        ShadowLooper.idleMainLooper(2, TimeUnit.SECONDS);
+
+        assertFalse(behavior.isHidden());
+        assertEquals(USER_TRANSLATION_Y, mButton.getTranslationY(), 0f);
+        assertEquals(View.LAYER_TYPE_NONE, mButton.getLayerType());
+    }
+
+    @Test
+    public void jitter_staysShown() {
+        ScrollHideBehavior<FloatingActionButton> behavior = new ScrollHideBehavior<>();
+        behavior.getLayerPolicy().setPolicy(LayerPolicy.POLICY_HARDWARE);
+
+        behavior.onStartNestedScroll(mParent, mButton, mList, mList, ViewCompat.SCROLL_AXIS_VERTICAL,
+                ViewCompat.TYPE_TOUCH);
+
+        for (int i = 0; i < SCROLL_EVENTS; i++) {
+            scroll(behavior, i % 2 == 0 ? 20 : -20);
+        }
+
+        assertFalse(behavior.isHidden());
+        assertEquals(0, behavior.getLayerPolicy().getPromotionCount());
+        assertEquals(USER_TRANSLATION_Y, mButton.getTranslationY(), 0f);
+    }
+
+    @Test
+    public void shrink_keepsPosition() {
+        ScrollHideBehavior<FloatingActionButton> behavior = new ScrollHideBehavior<>();
+        behavior.setHideMode(ScrollHideBehavior.MODE_SHRINK);
+
+        behavior.onStartNestedScroll(mParent, mButton, mList, mList, ViewCompat.SCROLL_AXIS_VERTICAL,
+                ViewCompat.TYPE_TOUCH);
+        scroll(behavior, 1000);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(0f, mButton.getScaleX(), 0f);
+        assertEquals(USER_TRANSLATION_Y, mButton.getTranslationY(), 0f);
+
+        scroll(behavior, -1000);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(1f, mButton.getScaleX(), 0f);
+    }
+
+    @Test
+    public void modeChangedWhileHidden_showsWithOldMode() {
+        ScrollHideBehavior<FloatingActionButton> behavior = new ScrollHideBehavior<>();
+        behavior.setHideMode(ScrollHideBehavior.MODE_SHRINK);
+
+        behavior.onStartNestedScroll(mParent, mButton, mList, mList, ViewCompat.SCROLL_AXIS_VERTICAL,
+                ViewCompat.TYPE_TOUCH);
+        scroll(behavior, 1000);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(0f, mButton.getScaleX(), 0f);
+
+        // Shown again by growing, not sliding
+        behavior.setHideMode(ScrollHideBehavior.MODE_SLIDE);
+        scroll(behavior, -1000);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(1f, mButton.getScaleX(), 0f);
+        assertEquals(USER_TRANSLATION_Y, mButton.getTranslationY(), 0f);
+
+        // The next hide slides
+        scroll(behavior, 1000);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(1f, mButton.getScaleX(), 0f);
+        assertTrue(mButton.getY() >= PARENT_HEIGHT);
+    }
+
+    private void scroll(ScrollHideBehavior<FloatingActionButton> behavior, int dy) {
+        behavior.onNestedScroll(mParent, mButton, mList, 0, dy, 0, 0, ViewCompat.TYPE_TOUCH, new int[2]);
+
+        // Next frame
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+    }
+}
\ No newline at end of file
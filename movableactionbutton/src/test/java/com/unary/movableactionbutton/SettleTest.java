@@ -0,0 +1,169 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.PointF;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import com.unary.movableactionbutton.core.ManualFrameClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Flings a button to the left on a manual frame clock and checks that it coasts to a stop at the
+ * bounds, and that a touch caught mid fling stops it where it is and stores that position.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SettleTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 800;
+    private static final int MARGIN = 16;
+    private static final int FLING_STEP = 30;
+    private static final int FLING_STEPS = 5;
+    private static final long STEP_MILLIS = 10;
+    private static final int MAX_FRAMES = 300;
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    private MovableActionButton mButton;
+    private ManualFrameClock mClock;
+    private PositionStore mStore;
+    private String mKey;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity,
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        CoordinatorLayout parent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        // Stored under an id from the resources
+        mButton.setId(android.R.id.button1);
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(mButton, lp);
+
+        activity.setContentView(parent, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        mClock = new ManualFrameClock();
+        mStore = new PositionStore(new EmptyStorage(), DIRECT);
+        mKey = "button1/" + context.getResources().getConfiguration().orientation;
+
+        MovableTouchHelper helper = mButton.getTouchHelper();
+        helper.setFrameClock(mClock);
+        helper.setFling(true);
+        helper.setPositionStore(mStore);
+    }
+
+    @Test
+    public void fling_stopsAtBounds() {
+        float y = mButton.getY();
+
+        fling();
+        assertTrue(mButton.getX() > MARGIN);
+
+        mClock.advanceUntilIdle(MAX_FRAMES);
+
+        assertEquals(MARGIN, mButton.getX(), 0.01f);
+        assertEquals(y, mButton.getY(), 0.01f);
+        assertStored();
+    }
+
+    @Test
+    public void touchDown_stopsFlingAndStoresPosition() {
+        fling();
+
+        for (int i = 0; i < 3; i++) {
+            mClock.advance();
+        }
+
+        float x = mButton.getX();
+        assertTrue(x > MARGIN);
+
+        // Caught mid fling
+        float downX = x + mButton.getWidth() / 2f;
+        float downY = mButton.getY() + mButton.getHeight() / 2f;
+
+        dispatch(MotionEvent.ACTION_DOWN, 1000, downX, downY);
+        assertStored();
+
+        mClock.advanceUntilIdle(MAX_FRAMES);
+        assertEquals(x, mButton.getX(), 0f);
+
+        // A tap leaves it there
+        dispatch(MotionEvent.ACTION_UP, 1050, downX, downY);
+        mClock.advanceUntilIdle(MAX_FRAMES);
+
+        assertEquals(x, mButton.getX(), 0f);
+        assertStored();
+    }
+
+    /**
+     * Drag quickly to the left and let go while still moving.
+     */
+    private void fling() {
+        float downX = mButton.getX() + mButton.getWidth() / 2f;
+        float downY = mButton.getY() + mButton.getHeight() / 2f;
+
+        dispatch(MotionEvent.ACTION_DOWN, 0, downX, downY);
+
+        for (int i = 1; i <= FLING_STEPS; i++) {
+            dispatch(MotionEvent.ACTION_MOVE, i * STEP_MILLIS, downX - i * FLING_STEP, downY);
+        }
+
+        dispatch(MotionEvent.ACTION_UP, FLING_STEPS * STEP_MILLIS, downX - FLING_STEPS * FLING_STEP, downY);
+    }
+
+    private void assertStored() {
+        PointF position = new PointF();
+
+        assertTrue(mStore.get(mKey, position));
+        assertEquals(mButton.getTranslationX(), position.x, 0f);
+        assertEquals(mButton.getTranslationY(), position.y, 0f);
+    }
+
+    private void dispatch(int action, long eventTime, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, eventTime, action, x, y, 0);
+        mButton.onTouchEvent(event);
+        event.recycle();
+    }
+
+    private static class EmptyStorage implements PositionStorage {
+
+        @Override
+        public void read(@NonNull Map<String, PointF> positions) {
+        }
+
+        @Override
+        public void write(@NonNull Map<String, PointF> positions) {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.unary.movableactionbutton;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.ViewGroup;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Slides a Snackbar in and out under a button and checks that the behaviors do not allocate on
+ * any frame of the animation once they are warmed up.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SnackbarAllocationTest {
+
+    private static final int PARENT_WIDTH = 1080;
+    private static final int PARENT_HEIGHT = 1920;
+    private static final int SNACKBAR_HEIGHT = 144;
+    private static final int FAB_SIZE = 168;
+    private static final int FAB_MARGIN = 48;
+    private static final int FRAMES = 15; // 250ms at 60Hz
+    private static final int WARMUP_ANIMATIONS = 100;
+    private static final int ANIMATIONS = 1_000;
+
+    private CoordinatorLayout mParent;
+    private MovableActionButton mButton;
+    private Snackbar.SnackbarLayout mSnackbar;
+
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        mParent = new CoordinatorLayout(context);
+        mButton = new MovableActionButton(context);
+        mSnackbar = new Snackbar.SnackbarLayout(context);
+
+        mParent.addView(mButton, new CoordinatorLayout.LayoutParams(FAB_SIZE, FAB_SIZE));
+        mParent.addView(mSnackbar, new CoordinatorLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                SNACKBAR_HEIGHT));
+
+        mButton.layout(PARENT_WIDTH - FAB_MARGIN - FAB_SIZE, PARENT_HEIGHT - FAB_MARGIN - FAB_SIZE,
+                PARENT_WIDTH - FAB_MARGIN, PARENT_HEIGHT - FAB_MARGIN);
+        mSnackbar.layout(0, PARENT_HEIGHT - SNACKBAR_HEIGHT, PARENT_WIDTH, PARENT_HEIGHT);
+    }
+
+    @Test
+    public void slide_isAllocationFree() {
+        assertAllocationFree("SlideBehavior", new SlideBehavior<FloatingActionButton>());
+    }
+
+    @Test
+    public void shrink_isAllocationFree() {
+        assertAllocationFree("ShrinkBehavior", new ShrinkBehavior<FloatingActionButton>());
+    }
+
+    private void assertAllocationFree(String name, CoordinatorLayout.Behavior<FloatingActionButton> behavior) {
+        animate(behavior, WARMUP_ANIMATIONS);
+
+        long bytes = animate(behavior, ANIMATIONS);
+        int frames = ANIMATIONS * 2 * (FRAMES + 1);
+
+        // Rounds down to zero only if no frame allocates
+        assertEquals(name, 0, bytes / frames);
+    }
+
+    /**
+     * Slide the Snackbar in and back out the given number of times, with one dependency callback
+     * per frame. The counter is read once around the whole run, so reading it is not counted.
+     *
+     * @return Bytes allocated during the run.
+     */
+    private long animate(CoordinatorLayout.Behavior<FloatingActionButton> behavior, int animations) {
+        long start = AllocationCounter.allocatedBytes();
+
+        for (int i = 0; i < animations; i++) {
+            for (int frame = 0; frame <= 2 * FRAMES + 1; frame++) {
+                // In, then out again
+                float progress = frame <= FRAMES ? (float) frame / FRAMES : (float) (2 * FRAMES + 1 - frame) / FRAMES;
+                mSnackbar.setTranslationY(SNACKBAR_HEIGHT * (1 - progress));
+                behavior.onDependentViewChanged(mParent, mButton, mSnackbar);
+            }
+        }
+
+        return AllocationCounter.allocatedBytes() - start;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.unary.movableactionbutton;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.graphics.Insets;
+import androidx.core.view.OnApplyWindowInsetsListener;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drags a button next to the bottom of its parent and then dispatches a navigation bar inset that
+ * covers it, checking that the resting button is pulled back inside the new bounds. Also checks
+ * that an insets listener the app put in place of the helper outlives the helper.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WindowInsetsTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 400;
+    private static final int MARGIN = 16;
+    private static final int BOTTOM_INSET = 300;
+    private static final int DRAG = 40;
+
+    @Test
+    public void newInsets_clampDraggedButton() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity,
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        CoordinatorLayout parent = new CoordinatorLayout(context);
+        MovableActionButton button = new MovableActionButton(context);
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(button, lp);
+
+        activity.setContentView(parent, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        // Left at rest after a short drag
+        float downX = button.getX() + button.getWidth() / 2f;
+        float downY = button.getY() + button.getHeight() / 2f;
+
+        dispatch(button, MotionEvent.ACTION_DOWN, downX, downY);
+        dispatch(button, MotionEvent.ACTION_MOVE, downX - DRAG, downY - DRAG);
+        dispatch(button, MotionEvent.ACTION_UP, downX - DRAG, downY - DRAG);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        // Only the part of the inset over the parent counts
+        int[] location = new int[2];
+        parent.getLocationInWindow(location);
+        View root = parent.getRootView();
+
+        int overlap = Math.max(0, BOTTOM_INSET - (root.getHeight() - location[1] - parent.getHeight()));
+        float maxY = parent.getHeight() - overlap - MARGIN - button.getHeight();
+
+        assertEquals(parent.getHeight() - MARGIN - button.getHeight() - DRAG, button.getY(), 0.01f);
+        assertTrue(button.getY() > maxY);
+
+        WindowInsetsCompat insets = new WindowInsetsCompat.Builder()
+                .setSystemWindowInsets(Insets.of(0, 0, 0, BOTTOM_INSET))
+                .build();
+
+        button.dispatchApplyWindowInsets(insets.toWindowInsets());
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(maxY, button.getY(), 0.01f);
+    }
+
+    @Test
+    public void detach_keepsAppInsetsListener() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        View view = new View(activity);
+        final MovableTouchHelper helper = MovableTouchHelper.attach(view);
+        final int[] calls = new int[1];
+
+        // Takes the slot and passes the insets on
+        ViewCompat.setOnApplyWindowInsetsListener(view, new OnApplyWindowInsetsListener() {
+            @NonNull
+            @Override
+            public WindowInsetsCompat onApplyWindowInsets(@NonNull View v, @NonNull WindowInsetsCompat insets) {
+                calls[0]++;
+                helper.onApplyWindowInsets(insets);
+
+                return insets;
+            }
+        });
+
+        WindowInsetsCompat insets = new WindowInsetsCompat.Builder()
+                .setSystemWindowInsets(Insets.of(0, 0, 0, BOTTOM_INSET))
+                .build();
+
+        view.dispatchApplyWindowInsets(insets.toWindowInsets());
+        assertEquals(1, calls[0]);
+
+        helper.detach();
+        view.dispatchApplyWindowInsets(insets.toWindowInsets());
+        assertEquals(2, calls[0]);
+    }
+
+    private static void dispatch(View button, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, y, 0);
+        button.onTouchEvent(event);
+        event.recycle();
+    }
+}
\ No newline at end of file
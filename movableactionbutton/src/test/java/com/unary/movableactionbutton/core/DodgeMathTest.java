@@ -0,0 +1,116 @@
+package com.unary.movableactionbutton.core;
+
+import com.unary.movableactionbutton.AllocationCounter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test that drives the behavior math through a simulated Snackbar slide animation.
+ */
+public class DodgeMathTest {
+
+    private static final int PARENT_HEIGHT = 1920;
+    private static final int SNACKBAR_HEIGHT = 144;
+    private static final int SNACKBAR_MARGIN = 16;
+    private static final int FAB_SIZE = 168;
+    private static final int FAB_MARGIN = 48;
+    private static final int FRAMES = 15; // 250ms at 60Hz
+
+    @Test
+    public void intersects_excludesSharedEdges() {
+        assertTrue(DodgeMath.intersects(0, 0, 10, 10, 5, 5, 15, 15));
+        assertFalse(DodgeMath.intersects(0, 0, 10, 10, 10, 0, 20, 10));
+        assertFalse(DodgeMath.intersects(0, 0, 10, 10, 0, 10, 10, 20));
+    }
+
+    @Test
+    public void slide_followsSnackbarTop() {
+        for (int frame = 0; frame <= FRAMES; frame++) {
+            float snackbarTranslation = snackbarTranslation(frame);
+            float translation = DodgeMath.slideTranslation(0, snackbarTranslation, SNACKBAR_HEIGHT, SNACKBAR_MARGIN);
+            float snackbarTop = PARENT_HEIGHT - SNACKBAR_MARGIN - SNACKBAR_HEIGHT + snackbarTranslation;
+
+            // Child moves up by the visible height of the Snackbar
+            assertEquals(1 - (PARENT_HEIGHT - snackbarTop), translation, 1e-3f);
+        }
+
+        assertEquals(1f - SNACKBAR_HEIGHT - SNACKBAR_MARGIN,
+                DodgeMath.slideTranslation(0, 0, SNACKBAR_HEIGHT, SNACKBAR_MARGIN), 0f);
+    }
+
+    @Test
+    public void shrink_reachesZeroWhenShown() {
+        assertEquals(1f, DodgeMath.shrinkScale(1, SNACKBAR_HEIGHT + SNACKBAR_MARGIN - 1, SNACKBAR_HEIGHT,
+                SNACKBAR_MARGIN), 0f);
+        assertEquals(1f / (SNACKBAR_HEIGHT + SNACKBAR_MARGIN),
+                DodgeMath.shrinkScale(1, 0, SNACKBAR_HEIGHT, SNACKBAR_MARGIN), 1e-6f);
+    }
+
+    @Test
+    public void rise_onlyCountsDependenciesBelow() {
+        // Child at 100..200, dependency rising from the bottom
+        assertEquals(40f, DodgeMath.rise(0, 100, 100, 200, 50, 160, 300), 0f);
+        assertEquals(0f, DodgeMath.rise(0, 100, 100, 200, 100, 160, 300), 0f);
+        assertEquals(0f, DodgeMath.rise(0, 100, 100, 200, 0, 80, 100), 0f);
+        assertEquals(0f, DodgeMath.rise(0, 100, 100, 200, 0, 240, 100), 0f);
+    }
+
+    @Test
+    public void slideAndShrink_combineToClearRise() {
+        float rise = 60;
+        float scale = DodgeMath.dodgeScale(rise, FAB_SIZE, 0.5f);
+        float slide = DodgeMath.dodgeSlide(rise, FAB_SIZE, scale);
+
+        // Scaled bottom plus slide lands on the dependency top
+        assertEquals(rise, FAB_SIZE * (1 - scale) / 2 + slide, 1e-3f);
+        assertEquals(1f, DodgeMath.dodgeScale(0, FAB_SIZE, 0.5f), 0f);
+        assertEquals(0.5f, DodgeMath.dodgeScale(FAB_SIZE, FAB_SIZE, 0.5f), 0f);
+        assertEquals(0f, DodgeMath.dodgeSlide(20, FAB_SIZE, DodgeMath.dodgeScale(20, FAB_SIZE, 0f)), 1e-3f);
+    }
+
+    @Test
+    public void snackbarAnimation_isAllocationFree() {
+        float sum = animate(1_000); // Warm up
+        long before = AllocationCounter.allocatedBytes();
+        sum += animate(10_000);
+        long after = AllocationCounter.allocatedBytes();
+
+        // Less than one byte per frame rules out any per frame object
+        assertTrue(sum != 0f);
+        assertTrue(after - before < 10_000 * (FRAMES + 1));
+    }
+
+    /**
+     * Run both behaviors through the given number of Snackbar animations, the same way
+     * onDependentViewChanged does on each frame.
+     */
+    private static float animate(int animations) {
+        float sum = 0f;
+        float fabLeft = 1080 - FAB_MARGIN - FAB_SIZE;
+        float fabTop = PARENT_HEIGHT - FAB_MARGIN - FAB_SIZE;
+
+        for (int i = 0; i < animations; i++) {
+            for (int frame = 0; frame <= FRAMES; frame++) {
+                float snackbarTranslation = snackbarTranslation(frame);
+                float snackbarTop = PARENT_HEIGHT - SNACKBAR_MARGIN - SNACKBAR_HEIGHT + snackbarTranslation;
+
+                if (DodgeMath.intersects(fabLeft, fabTop, fabLeft + FAB_SIZE, fabTop + FAB_SIZE,
+                        0, snackbarTop, 1080, snackbarTop + SNACKBAR_HEIGHT)) {
+                    sum += DodgeMath.slideTranslation(0, snackbarTranslation, SNACKBAR_HEIGHT, SNACKBAR_MARGIN);
+                    sum += DodgeMath.shrinkScale(1, snackbarTranslation, SNACKBAR_HEIGHT, SNACKBAR_MARGIN);
+                }
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Snackbar translation for a frame of the slide in animation.
+     */
+    private static float snackbarTranslation(int frame) {
+        return (SNACKBAR_HEIGHT + SNACKBAR_MARGIN) * (1 - (float) frame / FRAMES);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+import com.unary.movableactionbutton.AllocationCounter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameClockTest {
+
+    private static final int BUTTONS = 8;
+    private static final int RUNS = 200;
+
+    @Test
+    public void dispatch_runsEveryListenerOncePerFrame() {
+        ManualFrameClock clock = new ManualFrameClock();
+        final int[] frames = new int[BUTTONS];
+
+        for (int i = 0; i < BUTTONS; i++) {
+            final int index = i;
+
+            clock.add(new FrameClock.FrameListener() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    frames[index]++;
+                }
+            });
+        }
+
+        assertTrue(clock.advance());
+        assertTrue(clock.advance());
+
+        for (int i = 0; i < BUTTONS; i++) {
+            assertEquals(2, frames[i]);
+        }
+
+        assertEquals(2, clock.getFrameCount());
+        assertEquals(2 * ManualFrameClock.FRAME_NANOS, clock.getFrameTimeNanos());
+    }
+
+    @Test
+    public void dispatch_handlesChangesFromCallbacks() {
+        final ManualFrameClock clock = new ManualFrameClock();
+        final int[] frames = new int[2];
+
+        final FrameClock.FrameListener late = new FrameClock.FrameListener() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                frames[1]++;
+                clock.remove(this);
+            }
+        };
+
+        clock.add(new FrameClock.FrameListener() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                // Ends and starts over in the same frame
+                frames[0]++;
+                clock.remove(this);
+                clock.add(late);
+
+                if (frames[0] < 3) {
+                    clock.add(this);
+                }
+            }
+        });
+
+        assertTrue(clock.advance());
+        assertEquals(1, frames[0]);
+        assertEquals(0, frames[1]);
+
+        assertEquals(3, clock.advanceUntilIdle(100));
+        assertEquals(3, frames[0]);
+        assertEquals(3, frames[1]);
+        assertEquals(0, clock.getListenerCount());
+        assertFalse(clock.advance());
+    }
+
+    @Test
+    public void settle_isDeterministicAndAllocationFree() {
+        MovementBounds bounds = new MovementBounds();
+        bounds.set(1080, 1920, 0, 0, 0, 0, 168, 168);
+
+        ManualFrameClock clock = new ManualFrameClock();
+        SettleListener[] settles = new SettleListener[BUTTONS];
+
+        for (int i = 0; i < BUTTONS; i++) {
+            settles[i] = new SettleListener(clock, bounds);
+        }
+
+        int frames = settle(clock, settles);
+
+        for (int i = 0; i < RUNS; i++) {
+            settle(clock, settles); // Warm up
+        }
+
+        int totalFrames = 0;
+        long before = AllocationCounter.allocatedBytes();
+
+        for (int i = 0; i < RUNS; i++) {
+            totalFrames += settle(clock, settles);
+        }
+
+        long after = AllocationCounter.allocatedBytes();
+
+        // Same frames every run, and less than one byte per frame rules out any per frame object
+        assertEquals(frames * RUNS, totalFrames);
+        assertTrue(frames > 10);
+        assertTrue(frames < 120);
+        assertTrue(after - before < totalFrames);
+
+        for (SettleListener settle : settles) {
+            assertEquals(900f, settle.mPhysics.getX(), 1f);
+            assertEquals(100f, settle.mPhysics.getY(), 1f);
+        }
+    }
+
+    private static int settle(ManualFrameClock clock, SettleListener[] settles) {
+        for (int i = 0; i < settles.length; i++) {
+            settles[i].start(i * 100, 1500);
+        }
+
+        return clock.advanceUntilIdle(1000);
+    }
+
+    /**
+     * Springs to a fixed target the way the settle animator does, minus the view.
+     */
+    private static final class SettleListener implements FrameClock.FrameListener {
+
+        private final FrameClock mClock;
+        private final SettlePhysics mPhysics;
+        private long mLastFrameNanos;
+
+        SettleListener(FrameClock clock, MovementBounds bounds) {
+            mClock = clock;
+            mPhysics = new SettlePhysics(bounds);
+        }
+
+        void start(float x, float y) {
+            mPhysics.settleTo(x, y, 900, 100, 0, 0);
+            mLastFrameNanos = 0;
+            mClock.add(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            float dt = mLastFrameNanos == 0 ? 0 : (frameTimeNanos - mLastFrameNanos) / 1e9f;
+            mLastFrameNanos = frameTimeNanos;
+
+            if (!mPhysics.step(dt)) {
+                mClock.remove(this);
+            }
+        }
+    }
+}
\ No newline at end of file
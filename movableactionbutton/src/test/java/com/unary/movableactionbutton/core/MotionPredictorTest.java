@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MotionPredictorTest {
+
+    private static final float HORIZON = 16f;
+    private static final long FRAME = 8; // 120Hz touch sampling
+
+    @Test
+    public void predict_extrapolatesConstantVelocity() {
+        MotionPredictor predictor = new MotionPredictor(HORIZON, 1f);
+        float[] out = new float[2];
+
+        // 0.5 px/ms right and 0.25 px/ms down
+        for (int i = 0; i < 6; i++) {
+            predictor.addSample(i * FRAME, 100 + i * FRAME * 0.5f, 200 + i * FRAME * 0.25f);
+        }
+
+        assertTrue(predictor.predict(out));
+        assertEquals(100 + 5 * FRAME * 0.5f + HORIZON * 0.5f, out[0], 1e-3f);
+        assertEquals(200 + 5 * FRAME * 0.25f + HORIZON * 0.25f, out[1], 1e-3f);
+    }
+
+    @Test
+    public void predict_holdsWhenFingerStops() {
+        MotionPredictor predictor = new MotionPredictor(HORIZON, 1f);
+        float[] out = new float[2];
+
+        for (int i = 0; i < 5; i++) {
+            predictor.addSample(i * FRAME, i * 10, 0);
+        }
+
+        predictor.addSample(5 * FRAME, 40, 0);
+
+        assertFalse(predictor.predict(out));
+        assertEquals(40f, out[0], 0f);
+        assertEquals(0f, out[1], 0f);
+    }
+
+    @Test
+    public void predict_dampsWhenFingerTurns() {
+        MotionPredictor trusting = new MotionPredictor(HORIZON, 0f);
+        MotionPredictor damped = new MotionPredictor(HORIZON, 2f);
+        float[] trustingOut = new float[2];
+        float[] dampedOut = new float[2];
+
+        // Right, then a sharp turn down
+        for (int i = 0; i < 5; i++) {
+            trusting.addSample(i * FRAME, i * 4, 0);
+            damped.addSample(i * FRAME, i * 4, 0);
+        }
+
+        trusting.addSample(5 * FRAME, 16, 4);
+        damped.addSample(5 * FRAME, 16, 4);
+
+        assertTrue(trusting.predict(trustingOut));
+        assertTrue(damped.predict(dampedOut));
+
+        // Same direction, but a shorter lead from the last sample
+        float trustingLead = (float) Math.hypot(trustingOut[0] - 16, trustingOut[1] - 4);
+        float dampedLead = (float) Math.hypot(dampedOut[0] - 16, dampedOut[1] - 4);
+
+        assertTrue(dampedLead > 0);
+        assertTrue(dampedLead < trustingLead);
+    }
+
+    @Test
+    public void predict_ignoresStaleAndOutOfOrderSamples() {
+        MotionPredictor predictor = new MotionPredictor(HORIZON, 1f);
+        float[] out = new float[2];
+
+        predictor.addSample(0, 0, 0);
+        assertFalse(predictor.predict(out));
+
+        predictor.addSample(FRAME, 8, 0);
+        predictor.addSample(FRAME, 4, 0);
+        predictor.addSample(0, 100, 100);
+
+        assertEquals(2, predictor.getSampleCount());
+        assertTrue(predictor.predict(out));
+        assertEquals(4 + HORIZON * 0.5f, out[0], 1e-3f);
+
+        predictor.setHorizon(0);
+        assertFalse(predictor.predict(out));
+        assertEquals(4f, out[0], 0f);
+
+        predictor.reset();
+        assertEquals(0, predictor.getSampleCount());
+        assertFalse(predictor.predict(out));
+    }
+}
\ No newline at end of file
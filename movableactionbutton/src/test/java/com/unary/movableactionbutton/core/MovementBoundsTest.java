@@ -0,0 +1,53 @@
+package com.unary.movableactionbutton.core;
+
+import com.unary.movableactionbutton.AllocationCounter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the cached movement bounds used by the drag hot path.
+ */
+public class MovementBoundsTest {
+    @Test
+    public void clamp_isInsideBounds() {
+        MovementBounds bounds = new MovementBounds();
+        bounds.set(1080, 1920, 16, 32, 16, 48, 56, 56);
+
+        assertTrue(bounds.isValid());
+        assertEquals(16f, bounds.clampX(-100f), 0f);
+        assertEquals(1008f, bounds.clampX(5000f), 0f);
+        assertEquals(500f, bounds.clampX(500f), 0f);
+        assertEquals(32f, bounds.clampY(-100f), 0f);
+        assertEquals(1816f, bounds.clampY(5000f), 0f);
+
+        bounds.invalidate();
+        assertFalse(bounds.isValid());
+    }
+
+    @Test
+    public void clamp_isAllocationFree() {
+        MovementBounds bounds = new MovementBounds();
+        bounds.set(1080, 1920, 16, 16, 16, 16, 56, 56);
+
+        float sum = drag(bounds, 10_000); // Warm up
+        long before = AllocationCounter.allocatedBytes();
+        sum += drag(bounds, 100_000);
+        long after = AllocationCounter.allocatedBytes();
+
+        // Less than one byte per event rules out any per event object
+        assertTrue(sum != 0f);
+        assertTrue(after - before < 100_000);
+    }
+
+    private static float drag(MovementBounds bounds, int events) {
+        float sum = 0f;
+
+        for (int i = 0; i < events; i++) {
+            sum += bounds.clampX(i % 2000 - 500) + bounds.clampY(i % 3000 - 500);
+        }
+
+        return sum;
+    }
+}
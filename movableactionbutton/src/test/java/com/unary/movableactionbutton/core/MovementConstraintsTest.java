@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.core;
+
+import com.unary.movableactionbutton.AllocationCounter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MovementConstraintsTest {
+
+    private static final int SIZE = 100;
+
+    @Test
+    public void constrain_pushesToNearestEdge() {
+        MovementConstraints constraints = constraints();
+        float[] out = new float[2];
+
+        // Video surface at 200..600 x 200..500
+        assertTrue(constraints.constrain(180, 300, out));
+        assertEquals(100f, out[0], 0f);
+        assertEquals(300f, out[1], 0f);
+
+        assertTrue(constraints.constrain(300, 480, out));
+        assertEquals(300f, out[0], 0f);
+        assertEquals(500f, out[1], 0f);
+
+        assertFalse(constraints.constrain(600, 300, out));
+        assertEquals(600f, out[0], 0f);
+    }
+
+    @Test
+    public void constrain_staysInsideBounds() {
+        MovementConstraints constraints = constraints();
+        float[] out = new float[2];
+
+        // Corner zone touching the right edge can only be left to the side or below
+        assertTrue(constraints.constrain(930, 20, out));
+        assertEquals(930f, out[0], 0f);
+        assertEquals(120f, out[1], 0f);
+    }
+
+    @Test
+    public void constrain_resolvesNeighbouringZones() {
+        MovementConstraints constraints = constraints();
+        constraints.addExclusion(600, 200, 700, 500);
+        constraints.resolve(bounds(), SIZE, SIZE);
+
+        float[] out = new float[2];
+
+        // Pushed right out of the first zone, straight into the second
+        assertTrue(constraints.constrain(540, 300, out));
+        assertFalse(overlaps(out[0], out[1], 200, 200, 700, 500));
+    }
+
+    @Test
+    public void constrain_isAllocationFree() {
+        MovementConstraints constraints = constraints();
+        float[] out = new float[2];
+
+        float sum = drag(constraints, out, 10_000); // Warm up
+        long before = AllocationCounter.allocatedBytes();
+        sum += drag(constraints, out, 100_000);
+        long after = AllocationCounter.allocatedBytes();
+
+        assertTrue(sum != 0f);
+        assertTrue(after - before < 100_000);
+    }
+
+    private static MovementConstraints constraints() {
+        MovementConstraints constraints = new MovementConstraints();
+
+        constraints.addExclusion(200, 200, 600, 500);
+        constraints.addExclusion(900, 0, 1080, 120);
+        constraints.resolve(bounds(), SIZE, SIZE);
+
+        return constraints;
+    }
+
+    private static MovementBounds bounds() {
+        MovementBounds bounds = new MovementBounds();
+        bounds.set(1080, 1920, 0, 0, 0, 0, SIZE, SIZE);
+
+        return bounds;
+    }
+
+    private static boolean overlaps(float x, float y, float left, float top, float right, float bottom) {
+        return x < right && x + SIZE > left && y < bottom && y + SIZE > top;
+    }
+
+    private static float drag(MovementConstraints constraints, float[] out, int events) {
+        float sum = 0f;
+
+        for (int i = 0; i < events; i++) {
+            constraints.constrain(i % 980, i * 7 % 1820, out);
+            sum += out[0] + out[1];
+        }
+
+        return sum;
+    }
+}
\ No newline at end of file
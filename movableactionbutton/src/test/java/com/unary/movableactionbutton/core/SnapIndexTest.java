@@ -0,0 +1,91 @@
+package com.unary.movableactionbutton.core;
+
+import com.unary.movableactionbutton.AllocationCounter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the snap target index.
+ */
+public class SnapIndexTest {
+    @Test
+    public void edges_moveClosestAxisOnly() {
+        SnapIndex index = new SnapIndex();
+        index.build(SnapIndex.MODE_EDGES, 0, 0, 1000, 2000, 0);
+
+        float[] out = new float[2];
+        index.snap(100, 900, out);
+
+        assertEquals(0f, out[0], 0f);
+        assertEquals(900f, out[1], 0f);
+    }
+
+    @Test
+    public void corners_moveBothAxes() {
+        SnapIndex index = new SnapIndex();
+        index.build(SnapIndex.MODE_CORNERS, 16, 16, 1000, 2000, 0);
+
+        float[] out = new float[2];
+        index.snap(700, 900, out);
+
+        assertEquals(1000f, out[0], 0f);
+        assertEquals(16f, out[1], 0f);
+    }
+
+    @Test
+    public void grid_matchesLinearScan() {
+        SnapIndex index = new SnapIndex();
+        index.build(SnapIndex.MODE_GRID, 16, 32, 1008, 1816, 7);
+
+        float[] out = new float[2];
+
+        for (float x = 0; x < 1100; x += 3.3f) {
+            index.snap(x, x, out);
+
+            assertEquals(linearNearest(16, 1008, 7, x), out[0], 0f);
+            assertEquals(linearNearest(32, 1816, 7, x), out[1], 0f);
+        }
+    }
+
+    @Test
+    public void grid_isAllocationFree() {
+        SnapIndex index = new SnapIndex();
+        index.build(SnapIndex.MODE_GRID, 0, 0, 1080, 1920, 4);
+
+        float[] out = new float[2];
+        float sum = snap(index, out, 10_000); // Warm up
+        long before = AllocationCounter.allocatedBytes();
+        sum += snap(index, out, 100_000);
+        long after = AllocationCounter.allocatedBytes();
+
+        assertTrue(sum != 0f);
+        assertTrue(after - before < 100_000);
+    }
+
+    private static float snap(SnapIndex index, float[] out, int events) {
+        float sum = 0f;
+
+        for (int i = 0; i < events; i++) {
+            index.snap(i % 1080, i % 1920, out);
+            sum += out[0] + out[1];
+        }
+
+        return sum;
+    }
+
+    private static float linearNearest(float min, float max, float spacing, float value) {
+        float nearest = max;
+
+        for (int i = 0; min + i * spacing < max; i++) {
+            float line = min + i * spacing;
+
+            if (Math.abs(line - value) <= Math.abs(nearest - value)) {
+                nearest = line;
+            }
+        }
+
+        return nearest;
+    }
+}
@@ -0,0 +1,123 @@
+package com.unary.movableactionbutton.core;
+
+import com.unary.movableactionbutton.AllocationCounter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the spatial grid.
+ */
+public class SpatialGridTest {
+    @Test
+    public void query_matchesLinearScan() {
+        Random random = new Random(7);
+        SpatialGrid grid = new SpatialGrid(64);
+        float[][] rects = new float[40][];
+
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = randomRect(random);
+            grid.put(i, rects[i][0], rects[i][1], rects[i][2], rects[i][3]);
+        }
+
+        int[] out = new int[rects.length];
+
+        for (int step = 0; step < 2000; step++) {
+            // Move one item, then query around another
+            int moved = random.nextInt(rects.length);
+            rects[moved] = randomRect(random);
+            grid.put(moved, rects[moved][0], rects[moved][1], rects[moved][2], rects[moved][3]);
+
+            float[] query = randomRect(random);
+            int count = grid.query(query[0], query[1], query[2], query[3], out);
+
+            assertArrayEquals(linearQuery(rects, query), sorted(out, count));
+        }
+    }
+
+    @Test
+    public void remove_dropsFromQueries() {
+        SpatialGrid grid = new SpatialGrid(64);
+        grid.put(0, 0, 0, 56, 56);
+        grid.put(1, 40, 40, 96, 96);
+        grid.remove(0);
+
+        int[] out = new int[2];
+
+        assertEquals(1, grid.size());
+        assertFalse(grid.contains(0));
+        assertEquals(1, grid.query(0, 0, 100, 100, out));
+        assertEquals(1, out[0]);
+    }
+
+    @Test
+    public void touchingEdges_doNotOverlap() {
+        SpatialGrid grid = new SpatialGrid(64);
+        grid.put(0, 0, 0, 64, 64);
+
+        assertEquals(0, grid.query(64, 0, 128, 64, new int[1]));
+    }
+
+    @Test
+    public void moveAndQuery_isAllocationFree() {
+        SpatialGrid grid = new SpatialGrid(64);
+
+        for (int i = 0; i < 20; i++) {
+            grid.put(i, i * 50, i * 90, i * 50 + 56, i * 90 + 56);
+        }
+
+        int[] out = new int[20];
+        int sum = moveAndQuery(grid, out, 10_000); // Warm up
+        long before = AllocationCounter.allocatedBytes();
+        sum += moveAndQuery(grid, out, 100_000);
+        long after = AllocationCounter.allocatedBytes();
+
+        assertTrue(sum != 0);
+        assertTrue(after - before < 100_000);
+    }
+
+    private static int moveAndQuery(SpatialGrid grid, int[] out, int events) {
+        int sum = 0;
+
+        for (int i = 0; i < events; i++) {
+            float x = i % 1024;
+            float y = i % 1800;
+
+            grid.put(0, x, y, x + 56, y + 56);
+            sum += grid.query(x, y, x + 56, y + 56, out);
+        }
+
+        return sum;
+    }
+
+    private static float[] randomRect(Random random) {
+        float left = random.nextFloat() * 1000 - 100;
+        float top = random.nextFloat() * 1800 - 100;
+
+        return new float[]{left, top, left + 20 + random.nextFloat() * 200, top + 20 + random.nextFloat() * 100};
+    }
+
+    private static int[] linearQuery(float[][] rects, float[] query) {
+        int[] ids = new int[rects.length];
+        int count = 0;
+
+        for (int i = 0; i < rects.length; i++) {
+            if (query[0] < rects[i][2] && rects[i][0] < query[2] && query[1] < rects[i][3] && rects[i][1] < query[3]) {
+                ids[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static int[] sorted(int[] ids, int count) {
+        int[] copy = Arrays.copyOf(ids, count);
+        Arrays.sort(copy);
+
+        return copy;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.movableactionbutton.startup;
+
+import android.content.Context;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.unary.movableactionbutton.ExtendedMovableActionButton;
+import com.unary.movableactionbutton.MovableActionButton;
+import com.unary.movableactionbutton.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.Robolectric;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Inflates a screen full of each widget from XML attributes and times inflation, behavior
+ * attachment, the first layout and a save and restore round trip against the Material widget it
+ * extends. The cost of every phase is held to a budget relative to that baseline, which can be
+ * changed with the {@code movableactionbutton.startupBudget} system property.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class StartupBenchmarkTest {
+
+    private static final String[] PHASES = {"inflate", "attach behavior", "first layout", "save/restore"};
+    private static final int INFLATE = 0;
+    private static final int ATTACH = 1;
+    private static final int LAYOUT = 2;
+    private static final int SAVE_RESTORE = 3;
+
+    private static final int VIEWS = 50;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 7;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final float BUDGET = 4f;
+
+    private final boolean mExtended;
+    private Context mContext;
+
+    public StartupBenchmarkTest(String widget) {
+        mExtended = widget.equals(ExtendedMovableActionButton.class.getSimpleName());
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {MovableActionButton.class.getSimpleName()},
+                {ExtendedMovableActionButton.class.getSimpleName()}
+        });
+    }
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+    }
+
+    @Test
+    public void startup_withinBudget() {
+        ViewFactory baseline = mExtended ? new ViewFactory() {
+            @Override
+            public View create(Context context, AttributeSet attrs) {
+                return new ExtendedFloatingActionButton(context, attrs);
+            }
+        } : new ViewFactory() {
+            @Override
+            public View create(Context context, AttributeSet attrs) {
+                return new FloatingActionButton(context, attrs);
+            }
+        };
+        ViewFactory movable = mExtended ? new ViewFactory() {
+            @Override
+            public View create(Context context, AttributeSet attrs) {
+                return new ExtendedMovableActionButton(context, attrs);
+            }
+        } : new ViewFactory() {
+            @Override
+            public View create(Context context, AttributeSet attrs) {
+                return new MovableActionButton(context, attrs);
+            }
+        };
+
+        // Alternated so both warm up under the same conditions
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(baseline, false);
+            measure(movable, true);
+        }
+
+        long[][] baselineTimes = new long[PHASES.length][ROUNDS];
+        long[][] movableTimes = new long[PHASES.length][ROUNDS];
+
+        for (int i = 0; i < ROUNDS; i++) {
+            long[] times = measure(baseline, false);
+
+            for (int phase = 0; phase < PHASES.length; phase++) {
+                baselineTimes[phase][i] = times[phase];
+            }
+
+            times = measure(movable, true);
+
+            for (int phase = 0; phase < PHASES.length; phase++) {
+                movableTimes[phase][i] = times[phase];
+            }
+        }
+
+        String baselineName = mExtended ? ExtendedFloatingActionButton.class.getSimpleName()
+                : FloatingActionButton.class.getSimpleName();
+        String movableName = mExtended ? ExtendedMovableActionButton.class.getSimpleName()
+                : MovableActionButton.class.getSimpleName();
+        float budget = Float.parseFloat(System.getProperty("movableactionbutton.startupBudget",
+                String.valueOf(BUDGET)));
+
+        for (int phase = 0; phase < PHASES.length; phase++) {
+            double baselineNanos = (double) median(baselineTimes[phase]) / VIEWS;
+            double movableNanos = (double) median(movableTimes[phase]) / VIEWS;
+
+            assertTrue(String.format(Locale.US, "%s vs %s, %s: %.0f ns/view vs %.0f ns/view over %.1fx budget",
+                    movableName, baselineName, PHASES[phase], movableNanos, baselineNanos, budget),
+                    movableNanos <= baselineNanos * budget);
+        }
+    }
+
+    /**
+     * Run every phase once for a parent full of views and return the time each one took.
+     *
+     * @param factory Creates the views.
+     * @param movable True if the views take the movable attributes.
+     * @return Nanoseconds spent in each phase.
+     */
+    private long[] measure(ViewFactory factory, boolean movable) {
+        long[] times = new long[PHASES.length];
+        AttributeSet[] attrs = new AttributeSet[VIEWS];
+        View[] views = new View[VIEWS];
+
+        // Parsed up front as the inflater would have the compiled layout
+        for (int i = 0; i < VIEWS; i++) {
+            attrs[i] = buildAttributes(movable);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < VIEWS; i++) {
+            views[i] = factory.create(mContext, attrs[i]);
+        }
+
+        times[INFLATE] = System.nanoTime() - start;
+
+        CoordinatorLayout parent = new CoordinatorLayout(mContext);
+        start = System.nanoTime();
+
+        for (int i = 0; i < VIEWS; i++) {
+            CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+            lp.gravity = Gravity.BOTTOM | Gravity.END;
+            lp.setBehavior(((CoordinatorLayout.AttachedBehavior) views[i]).getBehavior());
+            views[i].setId(i + 1);
+            parent.addView(views[i], lp);
+        }
+
+        times[ATTACH] = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        parent.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        parent.layout(0, 0, WIDTH, HEIGHT);
+
+        times[LAYOUT] = System.nanoTime() - start;
+
+        SparseArray<Parcelable> container = new SparseArray<>();
+        start = System.nanoTime();
+
+        parent.saveHierarchyState(container);
+        parent.restoreHierarchyState(container);
+
+        times[SAVE_RESTORE] = System.nanoTime() - start;
+
+        assertEquals(VIEWS, container.size());
+        assertEquals(WIDTH - views[0].getWidth(), views[0].getLeft());
+
+        return times;
+    }
+
+    /**
+     * Build the attributes a layout would give each view. The movable widgets also get the drag
+     * options an app would typically set.
+     *
+     * @param movable True for the movable widgets.
+     * @return Attribute set.
+     */
+    private AttributeSet buildAttributes(boolean movable) {
+        Robolectric.AttributeSetBuilder builder = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.contentDescription, "Create");
+
+        if (mExtended) {
+            builder.addAttribute(android.R.attr.text, "Create");
+        }
+
+        if (movable) {
+            builder.addAttribute(R.attr.snapMode, "edges")
+                    .addAttribute(R.attr.fling, "true");
+        }
+
+        return builder.build();
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Creates a view the way the layout inflater does, through the XML constructor.
+     */
+    private interface ViewFactory {
+
+        View create(Context context, AttributeSet attrs);
+    }
+}
\ No newline at end of file
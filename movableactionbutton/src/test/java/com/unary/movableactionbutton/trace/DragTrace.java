@@ -0,0 +1,124 @@
+package com.unary.movableactionbutton.trace;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A recorded stream of touch events in a compact binary format. Coordinates are raw screen
+ * positions stored as 13.3 fixed point shorts, so each pointer sample takes five bytes.
+ *
+ * <pre>
+ *   int    magic         // "MTRC"
+ *   byte   version       // 1
+ *   short  screenWidth
+ *   short  screenHeight
+ *   int    eventCount
+ *   event[eventCount] {
+ *     short  action        // Including the pointer index
+ *     short  timeDelta     // Milliseconds since the previous event
+ *     byte   pointerCount
+ *     pointer[pointerCount] {
+ *       byte   id
+ *       short  x
+ *       short  y
+ *     }
+ *   }
+ * </pre>
+ */
+public final class DragTrace {
+
+    private static final int MAGIC = 0x4D545243;
+    private static final int VERSION = 1;
+    private static final float FIXED_POINT = 8f;
+
+    public final int screenWidth;
+    public final int screenHeight;
+    public final int[] actions;
+    public final long[] eventTimes;
+    public final int[][] pointerIds;
+    public final float[][] x;
+    public final float[][] y;
+
+    public DragTrace(int screenWidth, int screenHeight, int[] actions, long[] eventTimes, int[][] pointerIds,
+                     float[][] x, float[][] y) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.actions = actions;
+        this.eventTimes = eventTimes;
+        this.pointerIds = pointerIds;
+        this.x = x;
+        this.y = y;
+    }
+
+    public int size() {
+        return actions.length;
+    }
+
+    public static DragTrace read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Not a drag trace");
+        }
+
+        int screenWidth = in.readShort();
+        int screenHeight = in.readShort();
+        int count = in.readInt();
+
+        int[] actions = new int[count];
+        long[] eventTimes = new long[count];
+        int[][] pointerIds = new int[count][];
+        float[][] x = new float[count][];
+        float[][] y = new float[count][];
+        long time = 0;
+
+        for (int i = 0; i < count; i++) {
+            actions[i] = in.readShort();
+            time += in.readShort();
+            eventTimes[i] = time;
+
+            int pointerCount = in.readByte();
+            pointerIds[i] = new int[pointerCount];
+            x[i] = new float[pointerCount];
+            y[i] = new float[pointerCount];
+
+            for (int p = 0; p < pointerCount; p++) {
+                pointerIds[i][p] = in.readByte();
+                x[i][p] = in.readShort() / FIXED_POINT;
+                y[i][p] = in.readShort() / FIXED_POINT;
+            }
+        }
+
+        return new DragTrace(screenWidth, screenHeight, actions, eventTimes, pointerIds, x, y);
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeShort(screenWidth);
+        out.writeShort(screenHeight);
+        out.writeInt(size());
+
+        long time = 0;
+
+        for (int i = 0; i < size(); i++) {
+            out.writeShort(actions[i]);
+            out.writeShort((int) (eventTimes[i] - time));
+            out.writeByte(pointerIds[i].length);
+            time = eventTimes[i];
+
+            for (int p = 0; p < pointerIds[i].length; p++) {
+                out.writeByte(pointerIds[i][p]);
+                out.writeShort(Math.round(x[i][p] * FIXED_POINT));
+                out.writeShort(Math.round(y[i][p] * FIXED_POINT));
+            }
+        }
+
+        out.flush();
+    }
+}
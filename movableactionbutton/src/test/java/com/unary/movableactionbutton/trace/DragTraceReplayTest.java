@@ -0,0 +1,229 @@
+package com.unary.movableactionbutton.trace;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.Gravity;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.unary.movableactionbutton.AllocationCounter;
+import com.unary.movableactionbutton.DragMetrics;
+import com.unary.movableactionbutton.ExtendedMovableActionButton;
+import com.unary.movableactionbutton.MovableActionButton;
+import com.unary.movableactionbutton.OnDragMetricsListener;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Replays the recorded drag traces into both widgets and checks the time and allocations per move
+ * event once the drag is under way, along with the final position. The final position is checked
+ * against the position the trace should produce, so behavior changes in the drag pipeline fail the
+ * test.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class DragTraceReplayTest {
+
+    private static final String[] TRACES = {"slow_drag", "fast_flick", "jittery_stylus", "multi_pointer"};
+    private static final int MARGIN = 48;
+    private static final long MOVE_TIME_BUDGET_NANOS = 1_000_000; // Loose, Robolectric is not a device
+
+    private final boolean mExtended;
+    private final String mTrace;
+
+    public DragTraceReplayTest(String widget, String trace) {
+        mExtended = widget.equals(ExtendedMovableActionButton.class.getSimpleName());
+        mTrace = trace;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0} {1}")
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<>();
+
+        for (String trace : TRACES) {
+            data.add(new Object[]{MovableActionButton.class.getSimpleName(), trace});
+            data.add(new Object[]{ExtendedMovableActionButton.class.getSimpleName(), trace});
+        }
+
+        return data;
+    }
+
+    @Test
+    public void replay_landsOnExpectedPosition() throws IOException {
+        DragTrace trace = readTrace(mTrace);
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                com.google.android.material.R.style.Theme_MaterialComponents_Light);
+
+        View button = createButton(context);
+        layout(button, trace);
+
+        // Collected alongside so its cost is included
+        DragMetrics metrics = new DragMetrics();
+        setOnDragMetricsListener(button, metrics);
+
+        float startX = button.getX();
+        float startY = button.getY();
+        float maxX = trace.screenWidth - MARGIN - button.getWidth();
+        float maxY = trace.screenHeight - MARGIN - button.getHeight();
+
+        // Built up front so only the widget is measured
+        MotionEvent[] events = new MotionEvent[trace.size()];
+
+        for (int i = 0; i < events.length; i++) {
+            events[i] = obtain(trace, i);
+        }
+
+        float previousX = startX;
+        float previousY = startY;
+        boolean dragging = false;
+        int moves = 0;
+        long time = 0;
+        long bytes = 0;
+
+        for (MotionEvent event : events) {
+            long startBytes = AllocationCounter.allocatedBytes();
+            long startTime = System.nanoTime();
+
+            button.onTouchEvent(event);
+
+            long eventTime = System.nanoTime() - startTime;
+            long eventBytes = AllocationCounter.allocatedBytes() - startBytes;
+
+            // Only moves after the first one that moved the button are steady state
+            if (dragging && event.getActionMasked() == MotionEvent.ACTION_MOVE) {
+                time += eventTime;
+                bytes += eventBytes;
+                moves++;
+            }
+
+            if (button.getX() != previousX || button.getY() != previousY) {
+                previousX = button.getX();
+                previousY = button.getY();
+                dragging = true;
+            }
+        }
+
+        for (MotionEvent event : events) {
+            event.recycle();
+        }
+
+        if (moves > 0) {
+            assertEquals(0, bytes / moves);
+            assertTrue(time / moves < MOVE_TIME_BUDGET_NANOS);
+        }
+
+        // Mirror the drag rules on the primary pointer
+        int touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        float downX = trace.x[0][0];
+        float downY = trace.y[0][0];
+        float expectedX = startX;
+        float expectedY = startY;
+        boolean moving = false;
+
+        for (int i = 0; i < trace.size(); i++) {
+            float x = trace.x[i][0];
+            float y = trace.y[i][0];
+
+            if (trace.actions[i] == MotionEvent.ACTION_MOVE
+                    && (moving || Math.abs(downX - x) > touchSlop || Math.abs(downY - y) > touchSlop)) {
+                expectedX = Math.min(Math.max(startX + x - downX, MARGIN), maxX);
+                expectedY = Math.min(Math.max(startY + y - downY, MARGIN), maxY);
+                moving = true;
+            }
+        }
+
+        assertEquals(expectedX, button.getX(), 0.01f);
+        assertEquals(expectedY, button.getY(), 0.01f);
+
+        assertEquals(events.length, metrics.getTouchEventCount());
+        assertEquals(moving, metrics.isMoved());
+        assertEquals(0, metrics.getRejectedCount());
+        assertTrue(metrics.getTouchTimeNanos() > 0);
+        assertEquals(trace.eventTimes[events.length - 1] - trace.eventTimes[0], metrics.getDragDurationMillis());
+    }
+
+    private View createButton(Context context) {
+        if (mExtended) {
+            ExtendedMovableActionButton button = new ExtendedMovableActionButton(context);
+            button.setText("Create");
+
+            return button;
+        }
+
+        return new MovableActionButton(context);
+    }
+
+    private void setOnDragMetricsListener(View button, final DragMetrics metrics) {
+        OnDragMetricsListener listener = new OnDragMetricsListener() {
+            @Override
+            public void onDragMetrics(@NonNull View view, @NonNull DragMetrics dragMetrics) {
+                metrics.set(dragMetrics);
+            }
+        };
+
+        if (mExtended) {
+            ((ExtendedMovableActionButton) button).setOnDragMetricsListener(listener);
+        } else {
+            ((MovableActionButton) button).setOnDragMetricsListener(listener);
+        }
+    }
+
+    private static void layout(View button, DragTrace trace) {
+        CoordinatorLayout parent = new CoordinatorLayout(button.getContext());
+        CoordinatorLayout.LayoutParams lp = new CoordinatorLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        lp.gravity = Gravity.BOTTOM | Gravity.END;
+        lp.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
+        parent.addView(button, lp);
+
+        // Parent fills the screen so raw and parent coordinates match
+        parent.measure(View.MeasureSpec.makeMeasureSpec(trace.screenWidth, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(trace.screenHeight, View.MeasureSpec.EXACTLY));
+        parent.layout(0, 0, trace.screenWidth, trace.screenHeight);
+    }
+
+    private static MotionEvent obtain(DragTrace trace, int index) {
+        int pointerCount = trace.pointerIds[index].length;
+        MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[pointerCount];
+        MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+
+        for (int p = 0; p < pointerCount; p++) {
+            properties[p] = new MotionEvent.PointerProperties();
+            properties[p].id = trace.pointerIds[index][p];
+            properties[p].toolType = MotionEvent.TOOL_TYPE_FINGER;
+
+            coords[p] = new MotionEvent.PointerCoords();
+            coords[p].x = trace.x[index][p];
+            coords[p].y = trace.y[index][p];
+            coords[p].pressure = 1f;
+            coords[p].size = 1f;
+        }
+
+        return MotionEvent.obtain(trace.eventTimes[0], trace.eventTimes[index], trace.actions[index], pointerCount,
+                properties, coords, 0, 0, 1f, 1f, 0, 0, InputDevice.SOURCE_TOUCHSCREEN, 0);
+    }
+
+    static DragTrace readTrace(String name) throws IOException {
+        try (InputStream input = DragTraceReplayTest.class.getResourceAsStream("/traces/" + name + ".trace")) {
+            assertNotNull(name, input);
+            return DragTrace.read(input);
+        }
+    }
+}
\ No newline at end of file